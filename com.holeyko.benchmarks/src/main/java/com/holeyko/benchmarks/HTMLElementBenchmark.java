@@ -0,0 +1,107 @@
+package com.holeyko.benchmarks;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLParser;
+import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.HTMLSerializer;
+import com.holeyko.parser.model.Selector;
+import com.holeyko.parser.model.HTMLTreeReader;
+import com.holeyko.parser.model.HTMLTreeWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HTMLElementBenchmark {
+    private static final String[] RULES = {
+            "div.article > h2.title", "#article-7 a[target=_blank]", "ul li:nth-child(2n+1)", "img[alt]", "body p a"
+    };
+
+    @Param({"page", "deep"})
+    String shape;
+
+    @Param({"131072", "1048576"})
+    int size;
+
+    private HTMLElement root;
+    private long htmlLength;
+    private long toStringLength;
+    private byte[] tree;
+
+    @Setup
+    public void setup() throws ParseException, IOException {
+        final String html = switch (shape) {
+            case "page" -> HtmlDocuments.page(size);
+            case "deep" -> HtmlDocuments.deep(size / 1024);
+            default -> throw new IllegalArgumentException("Unknown shape: " + shape);
+        };
+        try (var parser = new HTMLParser(new ByteArrayInputStream(HtmlDocuments.bytes(html)))) {
+            root = parser.parse();
+        }
+        htmlLength = root.toHTML().length();
+        toStringLength = root.toString().length();
+        tree = HTMLTreeWriter.toBytes(root);
+    }
+
+    @Benchmark
+    public String toHTML(Throughput throughput) {
+        final String result = root.toHTML();
+        throughput.processed(htmlLength);
+        return result;
+    }
+
+    @Benchmark
+    public String toStringTree(Throughput throughput) {
+        final String result = root.toString();
+        throughput.processed(toStringLength);
+        return result;
+    }
+
+    @Benchmark
+    public void serializeToWriter(Throughput throughput) throws IOException {
+        new HTMLSerializer(HTMLSerializer.Format.HTML).serialize(root, Writer.nullWriter());
+        throughput.processed(htmlLength);
+    }
+
+    @Benchmark
+    public byte[] writeTree(Throughput throughput) {
+        final byte[] result = HTMLTreeWriter.toBytes(root);
+        throughput.processed(tree.length);
+        return result;
+    }
+
+    @Benchmark
+    public int readTree(Throughput throughput) throws IOException {
+        final Deque<HTMLElement> elements = new ArrayDeque<>();
+        elements.push(HTMLTreeReader.read(tree));
+        int count = 0;
+        while (!elements.isEmpty()) {
+            final HTMLElement element = elements.pop();
+            ++count;
+            for (HTMLElement child : element.getChildren()) {
+                elements.push(child);
+            }
+        }
+        throughput.processed(tree.length);
+        return count;
+    }
+
+    @Benchmark
+    public int selectRules() {
+        int count = 0;
+        for (String rule : RULES) {
+            count += Selector.compile(rule).select(root).size();
+        }
+        return count;
+    }
+}
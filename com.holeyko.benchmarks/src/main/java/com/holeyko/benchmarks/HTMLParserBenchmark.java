@@ -0,0 +1,284 @@
+package com.holeyko.benchmarks;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLBatchParser;
+import com.holeyko.parser.impl.HTMLIncrementalParser;
+import com.holeyko.parser.impl.HTMLParser;
+import com.holeyko.parser.impl.HTMLParserPool;
+import com.holeyko.parser.impl.HTMLPushParser;
+import com.holeyko.parser.model.HTMLDocument;
+import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.HTMLIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HTMLParserBenchmark {
+    private static final int PUSH_CHUNK_SIZE = 1460;
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"2048", "131072", "4194304"})
+        int size;
+        byte[] html;
+
+        @Setup
+        public void setup() {
+            html = HtmlDocuments.bytes(HtmlDocuments.page(size));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        final HTMLParserPool parsers = new HTMLParserPool(4);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Edited {
+        @Param({"2097152"})
+        int size;
+        final HTMLIncrementalParser parser = new HTMLIncrementalParser();
+        String source;
+        HTMLElement tree;
+        List<HTMLIncrementalParser.TextEdit> edits;
+
+        @Setup
+        public void setup() throws ParseException {
+            source = HtmlDocuments.page(size);
+            tree = parser.parse(source);
+            final int paragraph = source.indexOf("<p>", source.length() / 2);
+            edits = List.of(new HTMLIncrementalParser.TextEdit(paragraph + 3, 5, "edited text"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Deep {
+        @Param({"10", "1000", "100000"})
+        int depth;
+        byte[] html;
+
+        @Setup
+        public void setup() {
+            html = HtmlDocuments.bytes(HtmlDocuments.deep(depth));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class AttributeHeavy {
+        @Param({"4", "32"})
+        int attributes;
+        byte[] html;
+
+        @Setup
+        public void setup() {
+            html = HtmlDocuments.bytes(HtmlDocuments.attributeHeavy(2000, attributes));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RawText {
+        @Param({"65536", "1048576"})
+        int bodySize;
+        byte[] html;
+
+        @Setup
+        public void setup() {
+            html = HtmlDocuments.bytes(HtmlDocuments.rawText(bodySize));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LocalFile {
+        @Param({"4194304", "67108864"})
+        int size;
+        Path path;
+
+        @Setup
+        public void setup() throws IOException {
+            path = Files.createTempFile("html-parser-benchmark", ".html");
+            Files.writeString(path, HtmlDocuments.page(size));
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.delete(path);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Files256 {
+        @Param({"16384"})
+        int size;
+        List<Path> paths;
+        long bytes;
+
+        @Setup
+        public void setup() throws IOException {
+            final Path dir = Files.createTempDirectory("html-parser-benchmark");
+            final String html = HtmlDocuments.page(size);
+            paths = new ArrayList<>();
+            for (int i = 0; i < 256; ++i) {
+                paths.add(Files.writeString(dir.resolve(i + ".html"), html));
+            }
+            bytes = 256L * HtmlDocuments.bytes(html).length;
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            for (Path path : paths) {
+                Files.delete(path);
+            }
+            Files.delete(paths.get(0).getParent());
+        }
+    }
+
+    @Benchmark
+    public HTMLElement page(Page page, Throughput throughput) throws ParseException, IOException {
+        return parse(page.html, throughput);
+    }
+
+    @Benchmark
+    public HTMLElement pagePooled(Page page, Pool pool, Throughput throughput) throws ParseException {
+        final HTMLElement result = pool.parsers.parse(new ByteArrayInputStream(page.html));
+        throughput.processed(page.html.length);
+        return result;
+    }
+
+    @Benchmark
+    public HTMLDocument pageDocument(Page page, Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(page.html))) {
+            final HTMLDocument result = parser.parseDocument();
+            throughput.processed(page.html.length);
+            return result;
+        }
+    }
+
+    @Benchmark
+    public HTMLIndex pageIndexed(Page page, Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(page.html))) {
+            final HTMLIndex result = parser.parseIndexed();
+            throughput.processed(page.html.length);
+            return result;
+        }
+    }
+
+    @Benchmark
+    public void pageExtract(Page page, Throughput throughput, Blackhole blackhole) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(page.html))) {
+            parser.extract("div.article > h2.title, div.article a[href]", blackhole::consume);
+        }
+        throughput.processed(page.html.length);
+    }
+
+    @Benchmark
+    public void pageEvents(Page page, Throughput throughput, Blackhole blackhole) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(page.html))) {
+            parser.parseTo(new HTMLEventHandler() {
+                @Override
+                public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+                    blackhole.consume(attributes);
+                }
+
+                @Override
+                public void text(String text) {
+                    blackhole.consume(text);
+                }
+            });
+        }
+        throughput.processed(page.html.length);
+    }
+
+    @Benchmark
+    public void pagePushEvents(Page page, Throughput throughput, Blackhole blackhole) throws ParseException {
+        final HTMLPushParser parser = new HTMLPushParser(new HTMLEventHandler() {
+            @Override
+            public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+                blackhole.consume(attributes);
+            }
+
+            @Override
+            public void text(String text) {
+                blackhole.consume(text);
+            }
+        });
+        for (int from = 0; from < page.html.length; from += PUSH_CHUNK_SIZE) {
+            parser.feed(page.html, from, Math.min(PUSH_CHUNK_SIZE, page.html.length - from));
+        }
+        parser.finish();
+        throughput.processed(page.html.length);
+    }
+
+    @Benchmark
+    public HTMLElement fileStream(LocalFile file, Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(Files.newInputStream(file.path))) {
+            final HTMLElement result = parser.parse();
+            throughput.processed(Files.size(file.path));
+            return result;
+        }
+    }
+
+    @Benchmark
+    public HTMLElement fileMapped(LocalFile file, Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(file.path)) {
+            final HTMLElement result = parser.parse();
+            throughput.processed(Files.size(file.path));
+            return result;
+        }
+    }
+
+    @Benchmark
+    public void batchFiles(Files256 files, Throughput throughput, Blackhole blackhole) {
+        try (var results = new HTMLBatchParser().parseFiles(files.paths)) {
+            results.forEach(blackhole::consume);
+        }
+        throughput.processed(files.bytes);
+    }
+
+    @Benchmark
+    public HTMLElement reparseEdited(Edited edited) throws ParseException {
+        return edited.parser.reparse(edited.source, edited.tree, edited.edits);
+    }
+
+    @Benchmark
+    public HTMLElement parseEdited(Edited edited) throws ParseException {
+        return edited.parser.parse(HTMLIncrementalParser.apply(edited.source, edited.edits));
+    }
+
+    @Benchmark
+    public HTMLElement deepNesting(Deep deep, Throughput throughput) throws ParseException, IOException {
+        return parse(deep.html, throughput);
+    }
+
+    @Benchmark
+    public HTMLElement attributeHeavy(AttributeHeavy attributeHeavy, Throughput throughput) throws ParseException, IOException {
+        return parse(attributeHeavy.html, throughput);
+    }
+
+    @Benchmark
+    public HTMLElement scriptAndStyle(RawText rawText, Throughput throughput) throws ParseException, IOException {
+        return parse(rawText.html, throughput);
+    }
+
+    private static HTMLElement parse(byte[] html, Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(html))) {
+            final HTMLElement result = parser.parse();
+            throughput.processed(html.length);
+            return result;
+        }
+    }
+}
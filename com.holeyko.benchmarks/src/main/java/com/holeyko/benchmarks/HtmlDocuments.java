@@ -0,0 +1,107 @@
+package com.holeyko.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public final class HtmlDocuments {
+    private static final long SEED = 42;
+    private static final String[] WORDS = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit",
+            "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore"
+    };
+
+    private HtmlDocuments() {
+    }
+
+    public static String page(int approximateSize) {
+        final Random random = new Random(SEED);
+        final StringBuilder html = new StringBuilder(approximateSize + 1024);
+        html.append("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n")
+                .append("    <meta charset=\"UTF-8\">\n")
+                .append("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">\n")
+                .append("    <title>Generated page</title>\n")
+                .append("    <link rel=\"stylesheet\" href=\"/static/main.css\">\n")
+                .append("</head>\n<body>\n");
+
+        int block = 0;
+        while (html.length() < approximateSize) {
+            html.append("<div class=\"article card\" id=\"article-").append(block).append("\">\n")
+                    .append("    <!-- article ").append(block).append(" -->\n")
+                    .append("    <h2 class=\"title\">").append(sentence(random, 5)).append("</h2>\n")
+                    .append("    <p>").append(sentence(random, 40)).append("</p>\n")
+                    .append("    <p>").append(sentence(random, 20))
+                    .append(" <a href=\"https://example.com/").append(block).append("\" target=\"_blank\">")
+                    .append(sentence(random, 3)).append("</a> ").append(sentence(random, 10)).append("</p>\n")
+                    .append("    <ul>\n");
+            for (int i = 0; i < 4; ++i) {
+                html.append("        <li class=\"item\">").append(sentence(random, 4)).append("</li>\n");
+            }
+            html.append("    </ul>\n")
+                    .append("    <img src=\"/img/").append(block).append(".png\" alt=\"").append(sentence(random, 2)).append("\">\n")
+                    .append("</div>\n");
+            ++block;
+        }
+
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    public static String deep(int depth) {
+        final StringBuilder html = new StringBuilder(depth * 12 + 64);
+        html.append("<html>");
+        for (int i = 0; i < depth; ++i) {
+            html.append("<div>");
+        }
+        html.append("deepest");
+        for (int i = 0; i < depth; ++i) {
+            html.append("</div>");
+        }
+        return html.append("</html>").toString();
+    }
+
+    public static String attributeHeavy(int elements, int attributes) {
+        final Random random = new Random(SEED);
+        final StringBuilder html = new StringBuilder();
+        html.append("<html><body>\n");
+        for (int i = 0; i < elements; ++i) {
+            html.append("<span id=\"s").append(i).append('"');
+            for (int j = 0; j < attributes; ++j) {
+                html.append(" data-attr-").append(j).append("=\"").append(sentence(random, 2)).append('"');
+            }
+            html.append(" hidden>").append(WORDS[i % WORDS.length]).append("</span>\n");
+        }
+        return html.append("</body></html>").toString();
+    }
+
+    public static String rawText(int bodySize) {
+        final StringBuilder script = new StringBuilder(bodySize + 64);
+        int i = 0;
+        while (script.length() < bodySize) {
+            script.append("    if (a").append(i).append(" < b && c > d) { console.log(\"<div>\" + i); }\n");
+            ++i;
+        }
+
+        final StringBuilder style = new StringBuilder(bodySize + 64);
+        i = 0;
+        while (style.length() < bodySize) {
+            style.append("    .class-").append(i).append(" > p { margin: 0 auto; color: #333; }\n");
+            ++i;
+        }
+
+        return "<html><head>\n<script>\n" + script + "</script>\n<style>\n" + style + "</style>\n</head><body>text</body></html>";
+    }
+
+    public static byte[] bytes(String html) {
+        return html.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sentence(Random random, int words) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < words; ++i) {
+            if (i > 0) {
+                result.append(' ');
+            }
+            result.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.holeyko.benchmarks;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLParser;
+import com.holeyko.parser.model.HTMLElement;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelParseBenchmark {
+    @Param({"16777216"})
+    int size;
+    @Param({"1", "2", "4", "8"})
+    int threads;
+    byte[] html;
+    ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        html = HtmlDocuments.bytes(HtmlDocuments.page(size));
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public HTMLElement parallel(Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(html))) {
+            final HTMLElement result = parser.parseParallel(pool);
+            throughput.processed(html.length);
+            return result;
+        }
+    }
+
+    @Benchmark
+    public HTMLElement sequential(Throughput throughput) throws ParseException, IOException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(html))) {
+            final HTMLElement result = parser.parse();
+            throughput.processed(html.length);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.holeyko.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+    private static final double BYTES_IN_MEGABYTE = 1024 * 1024;
+
+    public double megabytes;
+
+    public void processed(long bytes) {
+        megabytes += bytes / BYTES_IN_MEGABYTE;
+    }
+}
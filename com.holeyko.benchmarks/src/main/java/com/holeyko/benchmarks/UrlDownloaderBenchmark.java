@@ -0,0 +1,71 @@
+package com.holeyko.benchmarks;
+
+import com.holeyko.downloader.Downloader;
+import com.holeyko.downloader.impl.UrlDownloader;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlDownloaderBenchmark {
+    private static final String FILE_NAME = "payload.bin";
+
+    @Param({"65536", "8388608"})
+    int size;
+
+    private final Downloader downloader = new UrlDownloader();
+    private HttpServer server;
+    private String url;
+    private Path directory;
+
+    @Setup
+    public void setup() throws IOException {
+        final byte[] payload = new byte[size];
+        new Random(42).nextBytes(payload);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/" + FILE_NAME, exchange -> {
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(payload);
+            }
+        });
+        server.start();
+
+        url = "http://%s:%d/%s".formatted(
+                server.getAddress().getHostString(), server.getAddress().getPort(), FILE_NAME
+        );
+        directory = Files.createTempDirectory("url-downloader-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.stop(0);
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void download(Throughput throughput) throws IOException {
+        downloader.download(url, directory, FILE_NAME);
+        throughput.processed(size);
+    }
+}
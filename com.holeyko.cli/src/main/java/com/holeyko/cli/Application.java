@@ -5,6 +5,7 @@ import com.holeyko.downloader.impl.UrlDownloader;
 import com.holeyko.parser.exception.ParseException;
 import com.holeyko.parser.impl.HTMLParser;
 import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.HTMLSerializer;
 
 import java.io.*;
 import java.net.URL;
@@ -54,7 +55,7 @@ public class Application {
         String choice = input.readLine().toLowerCase().trim();
         testExit(choice);
 
-        try (final InputStream htmlInputStream = getHtmlInputStream(choice, input)) {
+        try (final HTMLParser parser = getHtmlParser(choice, input)) {
             System.out.println("""
                     Choose a number of a result parsing:
                         1. Own ToString
@@ -65,41 +66,43 @@ public class Application {
             choice = input.readLine().trim().toLowerCase();
             testExit(choice);
             try {
-                try (var parser = new HTMLParser(htmlInputStream)) {
-                    HTMLElement root = parser.parse();
-                    String result;
+                HTMLElement root = parser.parse();
+                HTMLSerializer serializer;
 
-                    switch (choice) {
-                        case "1" -> result = root.toString();
-                        case "2" -> result = root.toHTML();
-                        default -> throw new IllegalArgumentException();
-                    }
-
-                    System.out.println("""
-                            Choose a number of a result output:
-                                1. Console
-                                2. File
-                            """ + EXIT_MESSAGE
-                    );
-                    choice = input.readLine().trim().toLowerCase();
-                    testExit(choice);
+                switch (choice) {
+                    case "1" -> serializer = new HTMLSerializer(HTMLSerializer.Format.TREE);
+                    case "2" -> serializer = new HTMLSerializer(HTMLSerializer.Format.HTML);
+                    default -> throw new IllegalArgumentException();
+                }
 
-                    switch (choice) {
-                        case "1" -> System.out.println(result);
-                        case "2" -> {
-                            System.out.println("Enter path to file:");
-                            choice = input.readLine().trim().toLowerCase();
-                            try (BufferedWriter output = new BufferedWriter(
-                                    new FileWriter(choice, StandardCharsets.UTF_8)
-                            )) {
-                                output.write(result + '\n');
-                            }
+                System.out.println("""
+                        Choose a number of a result output:
+                            1. Console
+                            2. File
+                        """ + EXIT_MESSAGE
+                );
+                choice = input.readLine().trim().toLowerCase();
+                testExit(choice);
+
+                switch (choice) {
+                    case "1" -> {
+                        serializer.serialize(root, System.out);
+                        System.out.println();
+                    }
+                    case "2" -> {
+                        System.out.println("Enter path to file:");
+                        choice = input.readLine().trim().toLowerCase();
+                        try (BufferedWriter output = new BufferedWriter(
+                                new FileWriter(choice, StandardCharsets.UTF_8)
+                        )) {
+                            serializer.serialize(root, output);
+                            output.write('\n');
                         }
-                        default -> throw new IllegalArgumentException();
                     }
-                } catch (ParseException e) {
-                    System.err.println(e.getMessage());
+                    default -> throw new IllegalArgumentException();
                 }
+            } catch (ParseException e) {
+                System.err.println(e.getMessage());
             } catch (IOException e) {
                 System.err.printf("Can't write to output. %s%n", e.getMessage());
             }
@@ -108,15 +111,19 @@ public class Application {
         }
     }
 
-    private static InputStream getHtmlInputStream(String choice, BufferedReader input) throws IOException {
+    private static HTMLParser getHtmlParser(String choice, BufferedReader input) throws IOException {
         switch (choice) {
             case "1" -> {
                 System.out.println("Enter the URL:");
-                return new URL(input.readLine()).openStream();
+                return HTMLParser.detectingCharset(new URL(input.readLine()).openStream());
             }
             case "2" -> {
                 System.out.println("Enter path to html:");
-                return new FileInputStream(input.readLine());
+                try {
+                    return new HTMLParser(Path.of(input.readLine()));
+                } catch (InvalidPathException e) {
+                    throw new IOException("Invalid path", e);
+                }
             }
             default -> throw new IllegalArgumentException();
         }
@@ -0,0 +1,13 @@
+package com.holeyko.downloader;
+
+import java.io.IOException;
+
+/**
+ * Called in the downloading thread once the download is over.
+ */
+public interface DownloadListener {
+    void downloaded(DownloadStatistics statistics);
+
+    default void failed(DownloadStatistics statistics, IOException error) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.holeyko.downloader;
+
+import java.time.Duration;
+
+public record DownloadStatistics(String url, long bytes, Duration timeToFirstByte, Duration duration) {
+    public double bytesPerSecond() {
+        final long nanos = duration.toNanos();
+        return nanos == 0 ? 0 : bytes * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,36 @@
+package com.holeyko.downloader.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Frequency;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.holeyko.downloader.Download")
+@Label("URL Download")
+@Category("HTML Parser")
+@Description("Download of a URL to a file")
+@StackTrace(false)
+class DownloadEvent extends jdk.jfr.Event {
+    @Label("URL")
+    String url;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Time to First Byte")
+    @Timespan
+    long timeToFirstByte;
+
+    @Label("Throughput")
+    @DataAmount
+    @Frequency
+    double bytesPerSecond;
+
+    @Label("Succeeded")
+    boolean isSuccess;
+}
@@ -1,34 +1,119 @@
 package com.holeyko.downloader.impl;
 
+import com.holeyko.downloader.DownloadListener;
+import com.holeyko.downloader.DownloadStatistics;
 import com.holeyko.downloader.Downloader;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 
 public class UrlDownloader implements Downloader {
+    private DownloadListener listener;
+
     @Override
     public void download(String downloadFrom, Path downloadTo, String name) throws IOException {
-        final var url = new URL(downloadFrom);
-        final var downloadedFile = Path.of(downloadTo.toString(), name);
-        Files.createDirectories(downloadTo);
-
-        try (
-                final ReadableByteChannel downloadChannel = Channels.newChannel(url.openStream());
-                final FileChannel fileChannel = new FileOutputStream(downloadedFile.toFile()).getChannel();
-        ) {
-            long countTransferred = 0;
-            long curCountRead = 0;
-            while ((curCountRead =
-                    fileChannel.transferFrom(downloadChannel, countTransferred, Long.MAX_VALUE)
-            ) != 0) {
-                countTransferred += curCountRead;
+        final DownloadEvent event = new DownloadEvent();
+        final boolean isReported = listener != null || event.isEnabled();
+        final long start = System.nanoTime();
+        event.begin();
+        final TimingChannel timing = new TimingChannel();
+        long countTransferred = 0;
+        try {
+            final var url = new URL(downloadFrom);
+            final var downloadedFile = Path.of(downloadTo.toString(), name);
+            Files.createDirectories(downloadTo);
+
+            try (
+                    final ReadableByteChannel downloadChannel = isReported
+                            ? timing.wrap(Channels.newChannel(url.openStream()))
+                            : Channels.newChannel(url.openStream());
+                    final FileChannel fileChannel = new FileOutputStream(downloadedFile.toFile()).getChannel();
+            ) {
+                long curCountRead = 0;
+                while ((curCountRead =
+                        fileChannel.transferFrom(downloadChannel, countTransferred, Long.MAX_VALUE)
+                ) != 0) {
+                    countTransferred += curCountRead;
+                }
+            }
+        } catch (IOException e) {
+            if (isReported) {
+                report(event, downloadFrom, countTransferred, start, timing, e);
+            }
+            throw e;
+        }
+        if (isReported) {
+            report(event, downloadFrom, countTransferred, start, timing, null);
+        }
+    }
+
+    public DownloadListener getListener() {
+        return listener;
+    }
+
+    public void setListener(DownloadListener listener) {
+        this.listener = listener;
+    }
+
+    private void report(DownloadEvent event, String url, long bytes, long start, TimingChannel timing, IOException error) {
+        event.end();
+        final long end = System.nanoTime();
+        final DownloadStatistics statistics = new DownloadStatistics(
+                url, bytes, Duration.ofNanos((timing.hasFirstByte ? timing.firstByte : end) - start), Duration.ofNanos(end - start)
+        );
+        if (event.shouldCommit()) {
+            event.url = url;
+            event.bytes = bytes;
+            event.timeToFirstByte = statistics.timeToFirstByte().toNanos();
+            event.bytesPerSecond = statistics.bytesPerSecond();
+            event.isSuccess = error == null;
+            event.commit();
+        }
+        if (listener != null) {
+            if (error == null) {
+                listener.downloaded(statistics);
+            } else {
+                listener.failed(statistics, error);
+            }
+        }
+    }
+
+    private static class TimingChannel implements ReadableByteChannel {
+        private ReadableByteChannel channel;
+        private boolean hasFirstByte = false;
+        private long firstByte;
+
+        ReadableByteChannel wrap(ReadableByteChannel channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer buffer) throws IOException {
+            final int read = channel.read(buffer);
+            if (!hasFirstByte && read > 0) {
+                hasFirstByte = true;
+                firstByte = System.nanoTime();
             }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
         }
     }
 }
@@ -1,4 +1,6 @@
 module com.holeyko.downloader {
+    requires jdk.jfr;
+
     exports com.holeyko.downloader;
     exports com.holeyko.downloader.impl;
-}
\ No newline at end of file
+}
@@ -10,6 +10,7 @@ import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.List;
 
 class UrlDownloaderTest {
@@ -34,6 +35,24 @@ class UrlDownloaderTest {
         smallResources.forEach(this::testDownloadResource);
     }
 
+    @Test
+    @DisplayName("Test statistics of downloads")
+    void testListener() throws IOException {
+        final Path resource = Path.of(PATH_TO_RESOURCES, "small", "mr-banks.jpg");
+        final UrlDownloader urlDownloader = new UrlDownloader();
+        final List<DownloadStatistics> downloaded = new ArrayList<>();
+        urlDownloader.setListener(downloaded::add);
+
+        final String url = resource.toUri().toURL().toString();
+        urlDownloader.download(url, Path.of(TMP_DIRECTORY, "listener"), "mr-banks.jpg");
+        Assertions.assertEquals(1, downloaded.size());
+        final DownloadStatistics statistics = downloaded.get(0);
+        Assertions.assertEquals(url, statistics.url());
+        Assertions.assertEquals(Files.size(resource), statistics.bytes());
+        Assertions.assertTrue(statistics.timeToFirstByte().compareTo(statistics.duration()) <= 0);
+        Assertions.assertTrue(statistics.bytesPerSecond() > 0);
+    }
+
     private void testDownloadResource(DownloadResource resource) {
         final Path toPath = Path.of(TMP_DIRECTORY, resource.relativeDirPath());
 
@@ -0,0 +1,38 @@
+package com.holeyko.parser;
+
+import com.holeyko.parser.exception.ParseException;
+
+import java.util.Map;
+
+/**
+ * Any method may throw {@link ParseException} to abort parsing.
+ */
+public interface HTMLEventHandler {
+    default void startDocument() throws ParseException {
+    }
+
+    default void endDocument() throws ParseException {
+    }
+
+    default void startElement(String tag, Map<String, String> attributes, boolean isSingle) throws ParseException {
+    }
+
+    default void endElement(String tag) throws ParseException {
+    }
+
+    default void text(String text) throws ParseException {
+    }
+
+    /**
+     * {@code chars} is reused by the parser after the call returns.
+     */
+    default void text(char[] chars, int from, int to) throws ParseException {
+        text(new String(chars, from, to - from));
+    }
+
+    default void comment(String comment) throws ParseException {
+    }
+
+    default void doctype(String doctype) throws ParseException {
+    }
+}
@@ -0,0 +1,13 @@
+package com.holeyko.parser;
+
+import com.holeyko.parser.exception.ParseException;
+
+/**
+ * Called in the parsing thread once the parse is over.
+ */
+public interface ParseListener {
+    void parsed(ParseStatistics statistics);
+
+    default void failed(ParseStatistics statistics, ParseException error) {
+    }
+}
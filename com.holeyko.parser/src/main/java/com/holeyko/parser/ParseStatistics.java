@@ -0,0 +1,7 @@
+package com.holeyko.parser;
+
+import java.time.Duration;
+
+public record ParseStatistics(long bytes, long chars, long elements, long attributes, long texts, long comments,
+                              int maxDepth, long windowFills, int peakWindowSize, Duration duration) {
+}
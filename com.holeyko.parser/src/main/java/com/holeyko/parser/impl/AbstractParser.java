@@ -7,24 +7,28 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 public abstract class AbstractParser<T> implements Parser<T> {
     protected static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
-    private static final int MIN_BUFFER_SIZE = 1024;
-    private static final int EXTEND_MULTIPLIER = 2;
-    private static final double LOAD_FACTOR = 0.75;
+    private static final int STREAM_WINDOW_CAPACITY = 8 * 1024;
+    private static final int MAPPED_WINDOW_CAPACITY = 64 * 1024;
 
-    private final Reader input;
+    private Reader input;
+    private Charset charset;
+    private InputStream byteInput;
     private boolean isInputEnd = false;
-    private char[] buffer = new char[MIN_BUFFER_SIZE];
-    private int curBufferIndex = 0;
-    private int readLimit = 0;
+    private final char[] window;
+    private final int mask;
+    private long position = 0;
+    private long end = 0;
+    private int peakWindowSize = 0;
+    private long windowFills = 0;
     protected int countSkipChars = 0;
 
     public AbstractParser(InputStream inputStream) {
@@ -32,80 +36,173 @@ public abstract class AbstractParser<T> implements Parser<T> {
     }
 
     public AbstractParser(InputStream inputStream, Charset charset) {
-        input = new InputStreamReader(inputStream, charset);
+        this(new CountingInputStream(inputStream), charset);
     }
 
-    protected boolean canRead() throws ParseException {
-        if (!isInputEnd && curBufferIndex == readLimit) {
-            prepareBuffer();
+    private AbstractParser(CountingInputStream inputStream, Charset charset) {
+        this(isUtf8(charset) ? new Utf8Reader(inputStream) : new InputStreamReader(inputStream, charset), STREAM_WINDOW_CAPACITY);
+        this.charset = charset;
+        byteInput = inputStream;
+    }
+
+    public AbstractParser(Reader reader) {
+        this(reader, STREAM_WINDOW_CAPACITY);
+    }
+
+    public AbstractParser(Path path) throws IOException {
+        this(path, DEFAULT_CHARSET);
+    }
+
+    public AbstractParser(Path path, Charset charset) throws IOException {
+        this(new MappedFileInputStream(path), charset);
+    }
+
+    private AbstractParser(MappedFileInputStream mappedFile, Charset charset) {
+        this(new MappedFileReader(mappedFile, charset), MAPPED_WINDOW_CAPACITY);
+        this.charset = charset;
+        byteInput = mappedFile;
+    }
+
+    private AbstractParser(Reader input, int windowCapacity) {
+        this.input = input;
+        window = new char[windowCapacity];
+        mask = windowCapacity - 1;
+    }
+
+    /**
+     * The previous input isn't closed.
+     */
+    protected void resetInput(InputStream inputStream, Charset charset) {
+        final CountingInputStream countingInput = new CountingInputStream(inputStream);
+        if (isUtf8(charset) && input instanceof Utf8Reader utf8Reader) {
+            utf8Reader.reset(countingInput);
+        } else {
+            input = isUtf8(charset) ? new Utf8Reader(countingInput) : new InputStreamReader(countingInput, charset);
         }
-        return !isInputEnd || curBufferIndex < readLimit;
+        this.charset = charset;
+        byteInput = countingInput;
+        windowFills = 0;
+        isInputEnd = false;
+        position = 0;
+        end = 0;
+        peakWindowSize = 0;
+        countSkipChars = 0;
+    }
+
+    private static boolean isUtf8(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset);
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public int getWindowCapacity() {
+        return window.length;
+    }
+
+    public int getPeakWindowSize() {
+        return peakWindowSize;
+    }
+
+    public long getWindowFills() {
+        return windowFills;
+    }
+
+    public long getBytesRead() {
+        if (byteInput instanceof CountingInputStream countingInput) {
+            return countingInput.count();
+        }
+        if (byteInput instanceof MappedFileInputStream mappedFile) {
+            return mappedFile.position();
+        }
+        return -1;
+    }
+
+    protected boolean canRead() throws ParseException {
+        return ensureAvailable(1);
     }
 
     protected char lookup() throws ParseException {
-        prepareBuffer();
         if (!canRead()) {
             throw new ParseException("InputStream ended");
         }
 
-        return buffer[curBufferIndex];
+        return window[(int) position & mask];
     }
 
-    private void prepareBuffer() throws ParseException {
-        updateSize();
-        if (!isInputEnd && curBufferIndex == readLimit) {
-            readInput();
+    protected char next() throws ParseException {
+        final char result = lookup();
+        ++countSkipChars;
+        ++position;
+        return result;
+    }
+
+    protected boolean consumeBuffer(BufferConsumer consumer) throws ParseException {
+        if (!canRead()) {
+            return false;
         }
+
+        final int from = (int) position & mask;
+        final int to = from + (int) Math.min(end - position, window.length - from);
+        final int consumedTo = consumer.consume(window, from, to);
+        countSkipChars += consumedTo - from;
+        position += consumedTo - from;
+
+        return true;
     }
 
-    private void updateSize() {
-        if (curBufferIndex < readLimit) {
-            return;
+    protected CharBuffer readRemaining() throws ParseException {
+        char[] result = new char[window.length];
+        int length = 0;
+        while (canRead()) {
+            final int from = (int) position & mask;
+            final int count = (int) Math.min(end - position, window.length - from);
+            if (length + count > result.length) {
+                result = Arrays.copyOf(result, Math.max(result.length * 2, length + count));
+            }
+            System.arraycopy(window, from, result, length, count);
+            length += count;
+            countSkipChars += count;
+            position += count;
         }
 
-        if (readLimit == buffer.length) {
-            extendBuffer();
+        return CharBuffer.wrap(result, 0, length);
+    }
+
+    private boolean ensureAvailable(int count) throws ParseException {
+        while (end - position < count) {
+            if (isInputEnd) {
+                return false;
+            }
+            readInput();
         }
+
+        return true;
     }
 
     private void readInput() throws ParseException {
+        final int free = window.length - (int) (end - position);
+        if (free == 0) {
+            throw new ParseException("Lookahead exceeds the window of %d chars at %d position"
+                    .formatted(window.length, countSkipChars));
+        }
+
+        final int from = (int) end & mask;
         try {
-            final int read = input.read(buffer, readLimit, buffer.length - readLimit);
+            final int read = input.read(window, from, Math.min(free, window.length - from));
+            ++windowFills;
             if (read == -1) {
                 isInputEnd = true;
                 return;
             }
-            readLimit += read;
+            end += read;
+            peakWindowSize = Math.max(peakWindowSize, (int) (end - position));
         } catch (IOException e) {
             throw new ParseException("Can't read inputStream", e);
         }
     }
 
-    private void extendBuffer() {
-        buffer = Arrays.copyOf(buffer, buffer.length * EXTEND_MULTIPLIER);
-    }
-
-    private void reduceBuffer() {
-        buffer = Arrays.copyOfRange(buffer, curBufferIndex, buffer.length);
-        readLimit -= curBufferIndex;
-        curBufferIndex = 0;
-    }
-
-    protected char next() throws ParseException {
-        final char result = lookup();
-        ++countSkipChars;
-        ++curBufferIndex;
-
-        if (
-                Double.compare((double) curBufferIndex / buffer.length, LOAD_FACTOR) >= 0 &&
-                        buffer.length - curBufferIndex >= MIN_BUFFER_SIZE
-        ) {
-            reduceBuffer();
-        }
-
-        return result;
-    }
-
     protected void skipWhitespace() throws ParseException {
         while (canRead() && Character.isWhitespace(lookup())) {
             next();
@@ -117,37 +214,18 @@ public abstract class AbstractParser<T> implements Parser<T> {
     }
 
     protected boolean checkString(String s, boolean sensitive) throws ParseException {
-        int curPos = 0;
-        boolean result = true;
-        Comparator<Character> characterComparator = sensitive ? Character::compare :
-                (l, r) -> Character.compare(Character.toLowerCase(l), Character.toLowerCase(r));
-
-        while (curPos < s.length()) {
-            if (!canRead() || characterComparator.compare(lookup(), s.charAt(curPos)) != 0) {
-                result = false;
-                break;
-            }
-
-            ++curBufferIndex;
-            ++curPos;
+        if (!ensureAvailable(s.length())) {
+            return false;
         }
 
-        curBufferIndex -= curPos;
-        return result;
-    }
-
-    protected boolean checkListString(List<String> list) throws ParseException {
-        return checkListString(list, true);
-    }
-
-    protected boolean checkListString(List<String> list, boolean sensitive) throws ParseException {
-        for (String s : list) {
-            if (checkString(s, sensitive)) {
-                return true;
+        for (int i = 0; i < s.length(); ++i) {
+            final char c = window[(int) (position + i) & mask];
+            if (c != s.charAt(i) && (sensitive || Character.toLowerCase(c) != Character.toLowerCase(s.charAt(i)))) {
+                return false;
             }
         }
 
-        return false;
+        return true;
     }
 
     protected boolean checkStringAndSkip(String s) throws ParseException {
@@ -156,9 +234,7 @@ public abstract class AbstractParser<T> implements Parser<T> {
 
     protected boolean checkStringAndSkip(String s, boolean sensitive) throws ParseException {
         if (checkString(s, sensitive)) {
-            for (int i = 0; i < s.length(); ++i) {
-                next();
-            }
+            skip(s.length());
             return true;
         }
 
@@ -170,41 +246,10 @@ public abstract class AbstractParser<T> implements Parser<T> {
     }
 
     protected void require(String s, boolean sensitive) throws ParseException {
-        requireSeveral(List.of(s), sensitive);
-    }
-
-    protected void requireSeveral(List<String> requireStrings) throws ParseException {
-        requireSeveral(requireStrings, true);
-    }
-
-    protected void requireSeveral(List<String> requireStrings, boolean sensitive) throws ParseException {
-        for (var required : requireStrings) {
-            if (checkStringAndSkip(required, sensitive)) {
-                return;
-            }
+        if (!checkStringAndSkip(s, sensitive)) {
+            throw new ParseException("Expected %s at %d position"
+                    .formatted(List.of(s), countSkipChars));
         }
-
-        throw new ParseException("Expected %s at %d position"
-                .formatted(requireStrings, countSkipChars));
-    }
-
-    protected String parseUntilString(List<String> expectedStrings) throws ParseException {
-        return parseUntilString(expectedStrings, true);
-    }
-
-    protected String parseUntilString(List<String> expectedStrings, boolean sensitive) throws ParseException {
-        return parseUntilStringsExcludeStrings(expectedStrings, Collections.emptyList(), sensitive);
-    }
-
-    protected String parseUntilStringsExcludeStrings(List<String> expectedStrings, List<String> excludeStrings) throws ParseException {
-        return parseUntilStringsExcludeStrings(expectedStrings, excludeStrings, true);
-    }
-
-    protected String parseUntilStringsExcludeStrings(List<String> expectedStrings, List<String> excludeStrings, boolean sensitive) throws ParseException {
-        return parseUntilExclude(
-                () -> !checkListString(expectedStrings, sensitive),
-                () -> checkListString(excludeStrings, sensitive)
-        );
     }
 
     protected String parseUntil(ParseCheck checkContinue) throws ParseException {
@@ -225,6 +270,15 @@ public abstract class AbstractParser<T> implements Parser<T> {
         return result.toString();
     }
 
+    private void skip(int count) throws ParseException {
+        if (!ensureAvailable(count)) {
+            throw new ParseException("InputStream ended");
+        }
+
+        countSkipChars += count;
+        position += count;
+    }
+
     @Override
     public void close() throws IOException {
         input.close();
@@ -234,4 +288,9 @@ public abstract class AbstractParser<T> implements Parser<T> {
     protected interface ParseCheck {
         boolean check() throws ParseException;
     }
+
+    @FunctionalInterface
+    protected interface BufferConsumer {
+        int consume(char[] buffer, int from, int to) throws ParseException;
+    }
 }
@@ -0,0 +1,314 @@
+package com.holeyko.parser.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+public final class CharsetSniffer {
+    public static final int PRESCAN_LENGTH = 1024;
+
+    private final byte[] bytes;
+    private final int length;
+    private int position;
+
+    private CharsetSniffer(byte[] bytes, int from, int to) {
+        this.bytes = bytes;
+        this.length = to;
+        this.position = from;
+    }
+
+    /**
+     * Reads at most {@link #PRESCAN_LENGTH} bytes of {@code input}. The returned input starts with them and closes
+     * {@code input} when it's closed.
+     */
+    public static Sniffed sniff(InputStream input, Charset defaultCharset) throws IOException {
+        final byte[] bytes = input.readNBytes(PRESCAN_LENGTH);
+        final int bomLength = bomLength(bytes, bytes.length);
+        final Charset detected = detect(bytes, 0, bytes.length);
+        return new Sniffed(
+                detected == null ? defaultCharset : detected,
+                new SequenceInputStream(new ByteArrayInputStream(bytes, bomLength, bytes.length - bomLength), input)
+        );
+    }
+
+    public static Charset detect(byte[] bytes, int from, int to) {
+        final Charset bomCharset = bomCharset(bytes, from, to);
+        if (bomCharset != null) {
+            return bomCharset;
+        }
+        return new CharsetSniffer(bytes, from, Math.min(to, from + PRESCAN_LENGTH)).prescan();
+    }
+
+    static int bomLength(byte[] bytes, int length) {
+        final Charset charset = bomCharset(bytes, 0, length);
+        if (charset == null) {
+            return 0;
+        }
+        return charset == StandardCharsets.UTF_8 ? 3 : 2;
+    }
+
+    private static Charset bomCharset(byte[] bytes, int from, int to) {
+        if (to - from >= 3 && (bytes[from] & 0xFF) == 0xEF && (bytes[from + 1] & 0xFF) == 0xBB
+                && (bytes[from + 2] & 0xFF) == 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+        if (to - from >= 2 && (bytes[from] & 0xFF) == 0xFE && (bytes[from + 1] & 0xFF) == 0xFF) {
+            return StandardCharsets.UTF_16BE;
+        }
+        if (to - from >= 2 && (bytes[from] & 0xFF) == 0xFF && (bytes[from + 1] & 0xFF) == 0xFE) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return null;
+    }
+
+    private Charset prescan() {
+        while (position < length) {
+            if (bytes[position] != '<') {
+                ++position;
+            } else if (startsWith("<!--")) {
+                position = indexOf("-->", position + 2);
+                if (position < 0) {
+                    return null;
+                }
+                position += 3;
+            } else if (startsWith("<meta") && position + 5 < length && isSpaceOrSlash(bytes[position + 5])) {
+                position += 5;
+                final Charset charset = meta();
+                if (charset != null) {
+                    return charset;
+                }
+            } else if (isTagStart()) {
+                while (position < length && !isSpace(bytes[position]) && bytes[position] != '>') {
+                    ++position;
+                }
+                while (attribute() != null) {
+                    // Attributes of other tags are skipped
+                }
+            } else if (position + 1 < length
+                    && (bytes[position + 1] == '!' || bytes[position + 1] == '/' || bytes[position + 1] == '?')) {
+                position = indexOf(">", position + 1);
+                if (position < 0) {
+                    return null;
+                }
+                ++position;
+            } else {
+                ++position;
+            }
+        }
+        return null;
+    }
+
+    private Charset meta() {
+        final Set<String> names = new HashSet<>();
+        boolean isContentType = false;
+        Boolean isPragma = null;
+        String label = null;
+
+        String[] attribute;
+        while ((attribute = attribute()) != null) {
+            if (!names.add(attribute[0])) {
+                continue;
+            }
+            switch (attribute[0]) {
+                case "http-equiv" -> isContentType |= attribute[1].equals("content-type");
+                case "content" -> {
+                    if (label == null) {
+                        label = charsetFromContent(attribute[1]);
+                        if (label != null) {
+                            isPragma = true;
+                        }
+                    }
+                }
+                case "charset" -> {
+                    label = attribute[1];
+                    isPragma = false;
+                }
+                default -> {
+                }
+            }
+        }
+
+        if (isPragma == null || isPragma && !isContentType) {
+            return null;
+        }
+        return forLabel(label);
+    }
+
+    private String[] attribute() {
+        while (position < length && (isSpace(bytes[position]) || bytes[position] == '/')) {
+            ++position;
+        }
+        if (position >= length || bytes[position] == '>') {
+            return null;
+        }
+
+        final StringBuilder name = new StringBuilder();
+        while (true) {
+            if (position >= length) {
+                return null;
+            }
+            final byte b = bytes[position];
+            if (b == '=' && !name.isEmpty()) {
+                ++position;
+                break;
+            }
+            if (isSpace(b)) {
+                skipSpaces();
+                if (position >= length) {
+                    return null;
+                }
+                if (bytes[position] != '=') {
+                    return new String[]{name.toString(), ""};
+                }
+                ++position;
+                break;
+            }
+            if (b == '/' || b == '>') {
+                return new String[]{name.toString(), ""};
+            }
+            name.append(toLowerCase(b));
+            ++position;
+        }
+
+        skipSpaces();
+        if (position >= length) {
+            return null;
+        }
+        final StringBuilder value = new StringBuilder();
+        final byte quote = bytes[position];
+        if (quote == '"' || quote == '\'') {
+            ++position;
+            while (position < length && bytes[position] != quote) {
+                value.append(toLowerCase(bytes[position++]));
+            }
+            if (position >= length) {
+                return null;
+            }
+            ++position;
+            return new String[]{name.toString(), value.toString()};
+        }
+        while (position < length && !isSpace(bytes[position]) && bytes[position] != '>') {
+            value.append(toLowerCase(bytes[position++]));
+        }
+        return position < length ? new String[]{name.toString(), value.toString()} : null;
+    }
+
+    private static String charsetFromContent(String content) {
+        int i = 0;
+        while (true) {
+            i = content.indexOf("charset", i);
+            if (i < 0) {
+                return null;
+            }
+            i += "charset".length();
+            while (i < content.length() && isSpace((byte) content.charAt(i))) {
+                ++i;
+            }
+            if (i < content.length() && content.charAt(i) == '=') {
+                break;
+            }
+        }
+
+        ++i;
+        while (i < content.length() && isSpace((byte) content.charAt(i))) {
+            ++i;
+        }
+        if (i >= content.length()) {
+            return null;
+        }
+        final char quote = content.charAt(i);
+        if (quote == '"' || quote == '\'') {
+            final int end = content.indexOf(quote, i + 1);
+            return end < 0 ? null : content.substring(i + 1, end);
+        }
+        int end = i;
+        while (end < content.length() && content.charAt(end) != ';' && !isSpace((byte) content.charAt(end))) {
+            ++end;
+        }
+        return content.substring(i, end);
+    }
+
+    private static Charset forLabel(String label) {
+        final Charset charset;
+        try {
+            charset = Charset.forName(label.strip());
+        } catch (IllegalArgumentException e) {
+            return label.strip().equals("x-user-defined") ? windows1252() : null;
+        }
+        if (charset.name().startsWith("UTF-16")) {
+            return StandardCharsets.UTF_8;
+        }
+        if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+            final Charset windows1252 = windows1252();
+            return windows1252 == null ? charset : windows1252;
+        }
+        return charset;
+    }
+
+    private static Charset windows1252() {
+        return Charset.isSupported("windows-1252") ? Charset.forName("windows-1252") : null;
+    }
+
+    private boolean isTagStart() {
+        int i = position + 1;
+        if (i < length && bytes[i] == '/') {
+            ++i;
+        }
+        return i < length && isAsciiLetter(bytes[i]);
+    }
+
+    private boolean startsWith(String s) {
+        if (position + s.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); ++i) {
+            if (toLowerCase(bytes[position + i]) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(String s, int from) {
+        for (int i = from; i + s.length() <= length; ++i) {
+            int k = 0;
+            while (k < s.length() && bytes[i + k] == s.charAt(k)) {
+                ++k;
+            }
+            if (k == s.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void skipSpaces() {
+        while (position < length && isSpace(bytes[position])) {
+            ++position;
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\f' || b == '\r';
+    }
+
+    private static boolean isSpaceOrSlash(byte b) {
+        return isSpace(b) || b == '/';
+    }
+
+    private static boolean isAsciiLetter(byte b) {
+        return b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z';
+    }
+
+    private static char toLowerCase(byte b) {
+        return b >= 'A' && b <= 'Z' ? (char) (b + ('a' - 'A')) : (char) (b & 0xFF);
+    }
+
+    public record Sniffed(Charset charset, InputStream input) {
+    }
+}
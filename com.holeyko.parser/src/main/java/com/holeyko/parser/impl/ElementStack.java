@@ -0,0 +1,41 @@
+package com.holeyko.parser.impl;
+
+import java.util.Arrays;
+
+class ElementStack<E> {
+    private static final int INITIAL_CAPACITY = 32;
+
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public void push(E element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    public E pop() {
+        final E result = peek();
+        elements[--size] = null;
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        return (E) elements[size - 1];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+}
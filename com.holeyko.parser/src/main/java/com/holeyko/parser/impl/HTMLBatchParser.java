@@ -0,0 +1,262 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.ParseListener;
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An error of one document is captured in its result and doesn't abort the batch.
+ * See {@link #isVirtualThreadDefault()} for the threads used without an executor.
+ */
+public class HTMLBatchParser {
+    private static final int DOCUMENTS_PER_PROCESSOR = 4;
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = virtualExecutorFactory();
+
+    private int concurrency = DOCUMENTS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors();
+    private boolean isOrdered = false;
+    private int maxDepth = HTMLParser.DEFAULT_MAX_DEPTH;
+    private ParseListener listener;
+    private Charset charset = StandardCharsets.UTF_8;
+    private ExecutorService executor;
+
+    public Stream<Result<Path>> parseFiles(Collection<Path> paths) {
+        final Charset fileCharset = charset;
+        return parse(paths, path -> new HTMLParser(path, fileCharset));
+    }
+
+    /**
+     * Each stream is closed after it's parsed.
+     */
+    public <S extends InputStream> Stream<Result<S>> parseStreams(Collection<S> inputStreams) {
+        final Charset streamCharset = charset;
+        return parse(inputStreams, inputStream -> new HTMLParser(inputStream, streamCharset));
+    }
+
+    /**
+     * Closing the stream cancels documents which are being parsed.
+     *
+     * @param parserFactory called in the thread which parses the source
+     */
+    public <S> Stream<Result<S>> parse(Collection<S> sources, ParserFactory<S> parserFactory) {
+        final Batch<S> batch = new Batch<>(sources.iterator(), parserFactory);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(batch, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(batch::close);
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+    }
+
+    public boolean isOrdered() {
+        return isOrdered;
+    }
+
+    public void setOrdered(boolean isOrdered) {
+        this.isOrdered = isOrdered;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    public ParseListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Called concurrently from the parsing threads.
+     */
+    public void setListener(ParseListener listener) {
+        this.listener = listener;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * The executor isn't shut down by batches.
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Without an executor set, documents are parsed on virtual threads if this returns true
+     * and on daemon platform threads otherwise.
+     */
+    public static boolean isVirtualThreadDefault() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    private static Method virtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService defaultExecutor() {
+        if (VIRTUAL_EXECUTOR_FACTORY == null) {
+            return Executors.newCachedThreadPool(task -> {
+                final Thread thread = new Thread(task, "html-batch-parser");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Result<S>(S source, int index, HTMLElement root, Exception error) {
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ParserFactory<S> {
+        HTMLParser open(S source) throws IOException;
+    }
+
+    private class Batch<S> implements Iterator<Result<S>> {
+        private final Iterator<S> sources;
+        private final ParserFactory<S> parserFactory;
+        private final int batchConcurrency = concurrency;
+        private final boolean isBatchOrdered = isOrdered;
+        private final int batchMaxDepth = maxDepth;
+        private final ParseListener batchListener = listener;
+        private final ExecutorService sharedExecutor = executor;
+        private ExecutorService batchExecutor;
+        private CompletionService<Result<S>> completion;
+        private final Deque<Future<Result<S>>> running = new ArrayDeque<>();
+        private int submitted = 0;
+        private boolean isClosed = false;
+
+        Batch(Iterator<S> sources, ParserFactory<S> parserFactory) {
+            this.sources = sources;
+            this.parserFactory = parserFactory;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (isClosed) {
+                return false;
+            }
+            while (running.size() < batchConcurrency && sources.hasNext()) {
+                if (batchExecutor == null) {
+                    batchExecutor = sharedExecutor == null ? defaultExecutor() : sharedExecutor;
+                    completion = new ExecutorCompletionService<>(batchExecutor);
+                }
+                final S source = sources.next();
+                final int index = submitted++;
+                final Callable<Result<S>> task = () -> parseSource(source, index);
+                running.add(isBatchOrdered ? batchExecutor.submit(task) : completion.submit(task));
+            }
+            if (running.isEmpty()) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Result<S> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            Future<Result<S>> future = null;
+            try {
+                future = isBatchOrdered ? running.peek() : completion.take();
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new CancellationException("Batch is interrupted");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                if (future != null) {
+                    running.remove(future);
+                }
+            }
+        }
+
+        void close() {
+            isClosed = true;
+            running.forEach(future -> future.cancel(true));
+            running.clear();
+            if (sharedExecutor == null && batchExecutor != null) {
+                batchExecutor.shutdownNow();
+            }
+        }
+
+        private Result<S> parseSource(S source, int index) {
+            try (HTMLParser parser = parserFactory.open(source)) {
+                parser.setMaxDepth(batchMaxDepth);
+                parser.setListener(batchListener);
+                return new Result<>(source, index, parser.parse(), null);
+            } catch (ParseException | IOException | RuntimeException e) {
+                return new Result<>(source, index, null, e);
+            }
+        }
+    }
+}
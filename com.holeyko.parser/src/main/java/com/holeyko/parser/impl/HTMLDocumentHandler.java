@@ -0,0 +1,78 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.model.HTMLDocument;
+
+import java.util.Collections;
+import java.util.Map;
+
+class HTMLDocumentHandler implements HTMLEventHandler {
+    private static final String MAIN_TAG = "html";
+
+    private HTMLDocument.HTMLDocumentBuilder builder;
+    private int depth;
+    private int rootChildren;
+    private int mainElement;
+    private HTMLDocument document;
+
+    @Override
+    public void startDocument() {
+        builder = HTMLDocument.builder();
+        builder.startElement(MAIN_TAG, Collections.emptyMap(), false, false);
+        depth = 0;
+        rootChildren = 0;
+        mainElement = -1;
+    }
+
+    @Override
+    public void endDocument() {
+        addPlainText();
+        if (rootChildren == 1 && mainElement != -1) {
+            builder.root(mainElement);
+        }
+        document = builder.build();
+        builder = null;
+    }
+
+    @Override
+    public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+        addPlainText();
+        final int id = builder.startElement(tag, attributes, isSingle, HTMLParser.isVoidTag(tag));
+        if (depth++ == 0) {
+            ++rootChildren;
+            mainElement = MAIN_TAG.equals(tag) ? id : -1;
+        }
+    }
+
+    @Override
+    public void endElement(String tag) {
+        addPlainText();
+        builder.endElement();
+        --depth;
+    }
+
+    @Override
+    public void text(String text) {
+        builder.appendText(text);
+    }
+
+    @Override
+    public void text(char[] chars, int from, int to) {
+        builder.appendText(chars, from, to);
+    }
+
+    @Override
+    public void doctype(String doctype) {
+        addPlainText();
+    }
+
+    public HTMLDocument getDocument() {
+        return document;
+    }
+
+    private void addPlainText() {
+        if (builder.endText() != -1 && depth == 0) {
+            ++rootChildren;
+        }
+    }
+}
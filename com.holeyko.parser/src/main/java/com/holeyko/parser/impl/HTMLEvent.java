@@ -0,0 +1,30 @@
+package com.holeyko.parser.impl;
+
+import java.util.Collections;
+import java.util.Map;
+
+public record HTMLEvent(Type type, String tag, Map<String, String> attributes, boolean isSingle, String text) {
+    public enum Type {
+        START_ELEMENT, END_ELEMENT, TEXT, COMMENT, DOCTYPE
+    }
+
+    public static HTMLEvent startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+        return new HTMLEvent(Type.START_ELEMENT, tag, attributes, isSingle, null);
+    }
+
+    public static HTMLEvent endElement(String tag) {
+        return new HTMLEvent(Type.END_ELEMENT, tag, Collections.emptyMap(), false, null);
+    }
+
+    public static HTMLEvent text(String text) {
+        return new HTMLEvent(Type.TEXT, null, Collections.emptyMap(), false, text);
+    }
+
+    public static HTMLEvent comment(String text) {
+        return new HTMLEvent(Type.COMMENT, null, Collections.emptyMap(), false, text);
+    }
+
+    public static HTMLEvent doctype(String text) {
+        return new HTMLEvent(Type.DOCTYPE, null, Collections.emptyMap(), false, text);
+    }
+}
@@ -0,0 +1,170 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.exception.ParseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+/**
+ * A consumer may stop at any moment and close the reader. Nesting deeper than {@link HTMLParser#getMaxDepth()} is
+ * a {@link ParseException}.
+ */
+public class HTMLEventReader implements Closeable {
+    private final HTMLParser parser;
+    private final ElementStack<String> openTags;
+    private HTMLEvent pendingEnd;
+    private HTMLEvent nextEvent;
+    private int nextDepth;
+    private HTMLEvent lastEvent;
+    private int lastDepth;
+    private int fetchedDepth;
+
+    public HTMLEventReader(InputStream inputStream) {
+        this(new HTMLParser(inputStream));
+    }
+
+    public HTMLEventReader(InputStream inputStream, Charset charset) {
+        this(new HTMLParser(inputStream, charset));
+    }
+
+    HTMLEventReader(HTMLParser parser) {
+        this.parser = parser;
+        openTags = parser.openTags();
+        openTags.clear();
+    }
+
+    /**
+     * @throws ParseException if the document is malformed
+     */
+    public boolean hasNext() throws ParseException {
+        if (nextEvent == null) {
+            nextEvent = fetch();
+            nextDepth = fetchedDepth;
+        }
+        return nextEvent != null;
+    }
+
+    public HTMLEvent next() throws ParseException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        lastEvent = nextEvent;
+        lastDepth = nextDepth;
+        nextEvent = null;
+        return lastEvent;
+    }
+
+    boolean dispatchNext(HTMLEventHandler handler) throws ParseException {
+        if (nextEvent == null && pendingEnd == null && parser.takeText(handler)) {
+            return true;
+        }
+        if (!hasNext()) {
+            return false;
+        }
+
+        final HTMLEvent event = next();
+        switch (event.type()) {
+            case START_ELEMENT -> handler.startElement(event.tag(), event.attributes(), event.isSingle());
+            case END_ELEMENT -> handler.endElement(event.tag());
+            case TEXT -> handler.text(event.text());
+            case COMMENT -> handler.comment(event.text());
+            case DOCTYPE -> handler.doctype(event.text());
+        }
+        return true;
+    }
+
+    /**
+     * @throws IllegalStateException if the last returned event isn't {@code START_ELEMENT}
+     */
+    public void skipSubtree() throws ParseException {
+        if (lastEvent == null || lastEvent.type() != HTMLEvent.Type.START_ELEMENT) {
+            throw new IllegalStateException("skipSubtree() must follow START_ELEMENT");
+        }
+
+        parser.setSkipping(true);
+        try {
+            HTMLEvent event;
+            int depth;
+            do {
+                if (nextEvent != null) {
+                    event = nextEvent;
+                    depth = nextDepth;
+                    nextEvent = null;
+                } else {
+                    event = fetch();
+                    depth = fetchedDepth;
+                }
+            } while (event != null && (event.type() != HTMLEvent.Type.END_ELEMENT || depth != lastDepth));
+            lastEvent = event;
+        } finally {
+            parser.setSkipping(false);
+        }
+    }
+
+    public int getDepth() {
+        return openTags.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private HTMLEvent fetch() throws ParseException {
+        fetchedDepth = openTags.size();
+        if (pendingEnd != null) {
+            final HTMLEvent result = pendingEnd;
+            pendingEnd = null;
+            return result;
+        }
+
+        final HTMLToken token = parser.nextToken();
+        if (token == null) {
+            if (!openTags.isEmpty()) {
+                throw new ParseException("Expected </%s> at %d position"
+                        .formatted(openTags.peek(), parser.position()));
+            }
+            return null;
+        }
+
+        return switch (token.type()) {
+            case TEXT -> HTMLEvent.text(token.text());
+            case COMMENT -> HTMLEvent.comment(token.text());
+            case DOCTYPE -> HTMLEvent.doctype(token.text());
+            case START_TAG -> {
+                final String tag = token.name();
+                if (HTMLParser.isVoidTag(tag)) {
+                    parser.skipVoidCloseTag(tag);
+                    pendingEnd = HTMLEvent.endElement(tag);
+                } else if (token.isSingle()) {
+                    pendingEnd = HTMLEvent.endElement(tag);
+                } else {
+                    if (openTags.size() == parser.getMaxDepth()) {
+                        throw new ParseException("Nesting is deeper than %d at %d position"
+                                .formatted(parser.getMaxDepth(), parser.position()));
+                    }
+                    openTags.push(tag);
+                }
+                yield HTMLEvent.startElement(tag, token.attributes(), token.isSingle());
+            }
+            case END_TAG -> {
+                if (openTags.isEmpty()) {
+                    throw new ParseException("HTML must have ended at %d position"
+                            .formatted(parser.position()));
+                }
+                if (!openTags.peek().equals(token.name())) {
+                    throw new ParseException("Expected </%s> at %d position"
+                            .formatted(openTags.peek(), parser.position()));
+                }
+                openTags.pop();
+                fetchedDepth = openTags.size();
+                yield HTMLEvent.endElement(token.name());
+            }
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.Selector;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Consumer;
+
+class HTMLExtractor implements HTMLEventHandler {
+    private static final String MAIN_TAG = "html";
+    private static final int INITIAL_CAPACITY = 32;
+    private static final int NONE = -1;
+
+    private final Selector selector;
+    private final Consumer<HTMLElement> consumer;
+    private final StringBuilder plainText = new StringBuilder();
+    private HTMLElement[] path = new HTMLElement[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[] elementCounts = new int[INITIAL_CAPACITY];
+    private HTMLElement root;
+    private int depth;
+    private boolean hasTopLevelContent;
+    private int matchDepth;
+
+    HTMLExtractor(Selector selector, Consumer<HTMLElement> consumer) {
+        this.selector = selector;
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void startDocument() {
+        Arrays.fill(path, 0, depth, null);
+        depth = 0;
+        root = new HTMLElement();
+        root.setTag(MAIN_TAG);
+        push(root, 1);
+        hasTopLevelContent = false;
+        matchDepth = NONE;
+        plainText.setLength(0);
+    }
+
+    @Override
+    public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+        addPlainText();
+        final HTMLElement element = new HTMLElement();
+        element.setTag(tag);
+        element.setAttributes(attributes);
+        element.setSingle(isSingle);
+        element.setVoid(HTMLParser.isVoidTag(tag));
+        final boolean isRoot = depth == 1 && !hasTopLevelContent && MAIN_TAG.equals(tag);
+        hasTopLevelContent |= depth == 1;
+        if (isRoot) {
+            // As in the tree, <html> is the root if nothing precedes it
+            path[0] = element;
+        } else {
+            if (matchDepth != NONE) {
+                path[depth - 1].addChild(element);
+            }
+            push(element, ++elementCounts[depth - 1]);
+        }
+
+        if (matchDepth == NONE && selector.matches(path, positions, depth)) {
+            matchDepth = depth;
+        }
+    }
+
+    @Override
+    public void endElement(String tag) {
+        addPlainText();
+        if (matchDepth == depth) {
+            matchDepth = NONE;
+            consumer.accept(path[depth - 1]);
+        }
+        if (depth == 1) {
+            path[0] = root;
+            elementCounts[0] = 1;
+        } else {
+            path[--depth] = null;
+        }
+    }
+
+    @Override
+    public void text(String text) {
+        text(text.toCharArray(), 0, text.length());
+    }
+
+    @Override
+    public void text(char[] chars, int from, int to) {
+        if (matchDepth != NONE) {
+            plainText.append(chars, from, to - from);
+        }
+        if (depth == 1 && path[0] == root && !hasTopLevelContent) {
+            hasTopLevelContent = !isBlank(chars, from, to);
+        }
+    }
+
+    @Override
+    public void doctype(String doctype) {
+        addPlainText();
+    }
+
+    private void push(HTMLElement element, int position) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+            positions = Arrays.copyOf(positions, depth * 2);
+            elementCounts = Arrays.copyOf(elementCounts, depth * 2);
+        }
+        path[depth] = element;
+        positions[depth] = position;
+        elementCounts[depth] = 0;
+        ++depth;
+    }
+
+    private static boolean isBlank(char[] chars, int from, int to) {
+        for (int i = from; i < to; ++i) {
+            if (chars[i] > ' ' && !Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPlainText() {
+        if (plainText.isEmpty()) {
+            return;
+        }
+
+        int from = 0;
+        int to = plainText.length();
+        while (from < to && plainText.charAt(from) <= ' ') {
+            ++from;
+        }
+        while (to > from && plainText.charAt(to - 1) <= ' ') {
+            --to;
+        }
+        final String text = from < to ? plainText.substring(from, to) : "";
+        plainText.setLength(0);
+        if (!text.isBlank()) {
+            path[depth - 1].addChild(HTMLElement.builder().value(text).build());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+public class HTMLIncrementalParser {
+    private int maxDepth = HTMLParser.DEFAULT_MAX_DEPTH;
+
+    public HTMLElement parse(String source) throws ParseException {
+        final char[] chars = source.toCharArray();
+        return parse(chars, 0, chars.length, maxDepth, false);
+    }
+
+    /**
+     * @throws IllegalArgumentException if edits overlap or are out of the source
+     */
+    public HTMLElement reparse(String previousSource, HTMLElement previousTree, List<TextEdit> edits) throws ParseException {
+        final List<TextEdit> sorted = sort(edits, previousSource.length());
+        final String source = applySorted(previousSource, sorted);
+        final char[] chars = source.toCharArray();
+        if (previousTree.getSourceOffset() < 0 || previousTree.getSourceLength() < 0) {
+            return parse(chars, 0, chars.length, maxDepth, false);
+        }
+
+        final int from = sorted.get(0).offset();
+        int to = 0;
+        int delta = 0;
+        for (TextEdit edit : sorted) {
+            to = Math.max(to, edit.offset() + edit.removedLength());
+            delta += edit.insertedText().length() - edit.removedLength();
+        }
+
+        final List<HTMLElement> path = new ArrayList<>();
+        final List<Integer> starts = new ArrayList<>();
+        HTMLElement element = previousTree;
+        int start = previousTree.getSourceOffset();
+        while (element != null) {
+            path.add(element);
+            starts.add(start);
+            final HTMLElement parent = element;
+            final int parentStart = start;
+            element = null;
+            for (HTMLElement child : parent.getChildren()) {
+                final int childStart = parentStart + child.getSourceOffset();
+                if (child.getValue() == null && !child.isVoid() && !child.isSingle()
+                        && childStart < from && to < childStart + child.getSourceLength()) {
+                    element = child;
+                    start = childStart;
+                    break;
+                }
+            }
+        }
+
+        for (int level = path.size() - 1; level > 0; --level) {
+            final HTMLElement edited = path.get(level);
+            final int editedStart = starts.get(level);
+            final HTMLElement replacement = parseElement(
+                    chars, editedStart, editedStart + edited.getSourceLength() + delta, maxDepth - level
+            );
+            if (replacement != null && replacement.getTag().equals(edited.getTag())) {
+                replacement.setSourceOffset(edited.getSourceOffset());
+                return replace(path, level, replacement, delta);
+            }
+        }
+        return parse(chars, 0, chars.length, maxDepth, false);
+    }
+
+    /**
+     * @throws IllegalArgumentException if edits overlap or are out of the source
+     */
+    public static String apply(String source, List<TextEdit> edits) {
+        return applySorted(source, sort(edits, source.length()));
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    private static HTMLElement parse(char[] chars, int from, int to, int maxDepth, boolean isFragment) throws ParseException {
+        final OffsetTreeBuilder builder = new OffsetTreeBuilder(isFragment);
+        final HTMLPushParser parser = new HTMLPushParser(builder);
+        builder.parser = parser;
+        parser.setMaxDepth(maxDepth);
+        parser.feed(chars, from, to);
+        parser.finish();
+        return builder.getRoot();
+    }
+
+    private static HTMLElement parseElement(char[] chars, int from, int to, int maxDepth) {
+        if (maxDepth < 1 || to <= from) {
+            return null;
+        }
+
+        final List<HTMLElement> children;
+        try {
+            children = parse(chars, from, to, maxDepth, true).getChildren();
+        } catch (ParseException e) {
+            return null;
+        }
+        if (children.size() != 1) {
+            return null;
+        }
+        final HTMLElement element = children.get(0);
+        final boolean isWhole = element.getValue() == null && !element.isVoid() && !element.isSingle()
+                && element.getSourceOffset() == 0 && element.getSourceLength() == to - from;
+        return isWhole ? element : null;
+    }
+
+    private static HTMLElement replace(List<HTMLElement> path, int level, HTMLElement replacement, int delta) {
+        HTMLElement child = replacement;
+        for (int i = level - 1; i >= 0; --i) {
+            final HTMLElement parent = path.get(i);
+            final HTMLElement replaced = path.get(i + 1);
+            final List<HTMLElement> children = new ArrayList<>(parent.getChildren().size());
+            boolean isAfter = false;
+            for (HTMLElement sibling : parent.getChildren()) {
+                if (sibling == replaced) {
+                    children.add(child);
+                    isAfter = true;
+                } else if (isAfter && sibling.getValue() == null) {
+                    final HTMLElement shifted = sibling.withChildren(sibling.getChildren());
+                    shifted.setSourceOffset(sibling.getSourceOffset() + delta);
+                    children.add(shifted);
+                } else {
+                    children.add(sibling);
+                }
+            }
+
+            final HTMLElement copy = parent.withChildren(children);
+            copy.setSourceLength(parent.getSourceLength() + delta);
+            child = copy;
+        }
+        return child;
+    }
+
+    private static List<TextEdit> sort(List<TextEdit> edits, int sourceLength) {
+        if (edits.isEmpty()) {
+            throw new IllegalArgumentException("No edits");
+        }
+
+        final List<TextEdit> sorted = new ArrayList<>(edits);
+        sorted.sort(Comparator.comparingInt(TextEdit::offset));
+        int end = 0;
+        for (TextEdit edit : sorted) {
+            if (edit.offset() < end) {
+                throw new IllegalArgumentException("Edit at %d position overlaps another one".formatted(edit.offset()));
+            }
+            end = edit.offset() + edit.removedLength();
+            if (end > sourceLength) {
+                throw new IllegalArgumentException("Edit at %d position is out of the source".formatted(edit.offset()));
+            }
+        }
+        return sorted;
+    }
+
+    private static String applySorted(String source, List<TextEdit> sorted) {
+        final StringBuilder result = new StringBuilder(source.length());
+        int copied = 0;
+        for (TextEdit edit : sorted) {
+            result.append(source, copied, edit.offset()).append(edit.insertedText());
+            copied = edit.offset() + edit.removedLength();
+        }
+        return result.append(source, copied, source.length()).toString();
+    }
+
+    public record TextEdit(int offset, int removedLength, String insertedText) {
+        public TextEdit {
+            if (offset < 0 || removedLength < 0) {
+                throw new IllegalArgumentException("Offset and removed length must not be negative");
+            }
+            if (insertedText == null) {
+                insertedText = "";
+            }
+        }
+    }
+
+    private static class OffsetTreeBuilder extends HTMLTreeBuilder {
+        private final ElementStack<Integer> starts = new ElementStack<>();
+        private HTMLPushParser parser;
+
+        OffsetTreeBuilder(boolean isFragment) {
+            super(new ElementStack<>(), false, isFragment);
+        }
+
+        @Override
+        public void startDocument() {
+            super.startDocument();
+            starts.clear();
+            starts.push(0);
+            currentElement().setSourceOffset(0);
+        }
+
+        @Override
+        public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+            super.startElement(tag, attributes, isSingle);
+            final int start = (int) parser.tagStart();
+            currentElement().setSourceOffset(start - starts.peek());
+            starts.push(start);
+        }
+
+        @Override
+        public void endElement(String tag) {
+            currentElement().setSourceLength((int) parser.position() - starts.pop());
+            super.endElement(tag);
+        }
+
+        @Override
+        public void endDocument() {
+            currentElement().setSourceLength((int) parser.position());
+            super.endDocument();
+        }
+    }
+}
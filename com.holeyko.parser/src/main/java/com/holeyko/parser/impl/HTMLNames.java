@@ -0,0 +1,125 @@
+package com.holeyko.parser.impl;
+
+final class HTMLNames {
+    private static final int VOID = 1;
+    private static final int RAW_TEXT = 1 << 1;
+
+    private static final Table TAGS = new Table(true,
+            "a", "abbr", "address", "article", "aside", "audio", "b", "bdi", "bdo", "blockquote", "body",
+            "button", "canvas", "caption", "cite", "code", "colgroup", "data", "datalist", "dd", "del",
+            "details", "dfn", "dialog", "div", "dl", "dt", "em", "fieldset", "figcaption", "figure", "footer",
+            "form", "g", "h1", "h2", "h3", "h4", "h5", "h6", "head", "header", "hgroup", "html", "i", "iframe",
+            "ins", "kbd", "label", "legend", "li", "main", "map", "mark", "menu", "meter", "nav", "noscript",
+            "object", "ol", "optgroup", "option", "output", "p", "path", "picture", "pre", "progress", "q",
+            "rp", "rt", "ruby", "s", "samp", "section", "select", "slot", "small", "span", "strong", "sub",
+            "summary", "sup", "svg", "table", "tbody", "td", "template", "textarea", "tfoot", "th", "thead",
+            "time", "title", "tr", "u", "ul", "var", "video"
+    );
+    private static final Table ATTRIBUTES = new Table(false,
+            "accept", "action", "align", "alt", "aria-hidden", "aria-label", "async", "autocomplete", "border",
+            "charset", "checked", "class", "cols", "colspan", "content", "crossorigin", "d", "data-id",
+            "datetime", "defer", "dir", "disabled", "download", "enctype", "fill", "for", "height", "hidden",
+            "href", "hreflang", "http-equiv", "id", "integrity", "itemprop", "itemscope", "itemtype", "label",
+            "lang", "loading", "max", "maxlength", "media", "method", "min", "multiple", "name", "onclick",
+            "pattern", "placeholder", "property", "readonly", "referrerpolicy", "rel", "required", "role",
+            "rows", "rowspan", "sandbox", "scope", "selected", "size", "sizes", "span", "src", "srcset",
+            "start", "step", "style", "tabindex", "target", "title", "type", "value", "viewBox", "width",
+            "xmlns"
+    );
+
+    static {
+        for (String tag : new String[]{
+                "area", "base", "br", "col", "command", "embed",
+                "hr", "img", "input", "keygen", "link", "meta", "param", "source", "track", "wbr"
+        }) {
+            TAGS.add(tag, VOID);
+        }
+        TAGS.add("script", RAW_TEXT);
+        TAGS.add("style", RAW_TEXT);
+    }
+
+    private HTMLNames() {
+    }
+
+    static String tagName(CharSequence name) {
+        final int index = TAGS.find(name);
+        return index >= 0 ? TAGS.names[index] : name.toString().toLowerCase();
+    }
+
+    static String attributeName(CharSequence name) {
+        final int index = ATTRIBUTES.find(name);
+        return index >= 0 ? ATTRIBUTES.names[index] : name.toString();
+    }
+
+    static boolean isVoidTag(String tag) {
+        return hasFlag(tag, VOID);
+    }
+
+    static boolean isRawTextTag(String tag) {
+        return hasFlag(tag, RAW_TEXT);
+    }
+
+    private static boolean hasFlag(String tag, int flag) {
+        final int index = TAGS.find(tag);
+        return index >= 0 && (TAGS.flags[index] & flag) != 0 && TAGS.names[index].equals(tag);
+    }
+
+    private static class Table {
+        private static final int CAPACITY = 512;
+
+        private final boolean ignoreCase;
+        private final String[] names = new String[CAPACITY];
+        private final int[] flags = new int[CAPACITY];
+
+        Table(boolean ignoreCase, String... names) {
+            this.ignoreCase = ignoreCase;
+            for (String name : names) {
+                add(name, 0);
+            }
+        }
+
+        void add(String name, int flags) {
+            int index = hash(name);
+            while (names[index] != null) {
+                index = (index + 1) & (CAPACITY - 1);
+            }
+            names[index] = name;
+            this.flags[index] = flags;
+        }
+
+        int find(CharSequence name) {
+            int index = hash(name);
+            while (names[index] != null) {
+                if (equals(names[index], name)) {
+                    return index;
+                }
+                index = (index + 1) & (CAPACITY - 1);
+            }
+            return -1;
+        }
+
+        private int hash(CharSequence name) {
+            int hash = 0;
+            for (int i = 0; i < name.length(); ++i) {
+                hash = 31 * hash + fold(name.charAt(i));
+            }
+            return (hash ^ (hash >>> 9)) & (CAPACITY - 1);
+        }
+
+        private boolean equals(String known, CharSequence name) {
+            if (known.length() != name.length()) {
+                return false;
+            }
+            for (int i = 0; i < known.length(); ++i) {
+                if (known.charAt(i) != fold(name.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private char fold(char c) {
+            return ignoreCase ? Character.toLowerCase(c) : c;
+        }
+    }
+}
@@ -1,34 +1,31 @@
 package com.holeyko.parser.impl;
 
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.ParseListener;
+import com.holeyko.parser.ParseStatistics;
 import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLDocument;
 import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.HTMLIndex;
+import com.holeyko.parser.model.Selector;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.Charset;
-import java.util.List;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 public class HTMLParser extends AbstractParser<HTMLElement> {
-    private enum TagEnvironment {
-        HTML, SCRIPT, STYLE
-    }
-
-    private record TagContext(HTMLElement parent, TagEnvironment environment) {
-    }
+    public static final int DEFAULT_MAX_DEPTH = 1 << 20;
 
-    private static final String MAIN_TAG = "html";
-    private static final String BEGIN_OPEN_TAG = "<";
-    private static final String END_OPEN_TAG = ">";
-    private static final String FINAL_END_OPEN_TAG = "/>";
-    private static final String BEGIN_CLOSE_TAG = "</";
-    private static final String END_CLOSE_TAG = ">";
-    private static final String BEGIN_COMMENT = "<!--";
-    private static final String END_COMMENT = "-->";
-    private static final String ASSIGN = "=";
-    private static final String DOCTYPE_HTML_START = "<!DOCTYPE";
-    private static final List<String> VOID_TAGS = List.of(
-            "area", "base", "br", "col", "command", "embed",
-            "hr", "img", "input", "keygen", "link", "meta", "param", "source", "track", "wbr"
-    );
+    private final HTMLTokenizer tokenizer = new HTMLTokenizer();
+    private final ElementStack<String> openTags = new ElementStack<>();
+    private final ElementStack<HTMLElement> openElements = new ElementStack<>();
+    private int maxDepth = DEFAULT_MAX_DEPTH;
+    private ParseListener listener;
 
     public HTMLParser(InputStream inputStream) {
         super(inputStream);
@@ -38,171 +35,212 @@ public class HTMLParser extends AbstractParser<HTMLElement> {
         super(inputStream, charset);
     }
 
+    public HTMLParser(Reader reader) {
+        super(reader);
+    }
+
+    public HTMLParser(Path path) throws IOException {
+        super(path);
+    }
+
+    public HTMLParser(Path path, Charset charset) throws IOException {
+        super(path, charset);
+    }
+
+    public static HTMLParser detectingCharset(InputStream inputStream) throws IOException {
+        return detectingCharset(inputStream, DEFAULT_CHARSET);
+    }
+
+    public static HTMLParser detectingCharset(InputStream inputStream, Charset defaultCharset) throws IOException {
+        final CharsetSniffer.Sniffed sniffed = CharsetSniffer.sniff(inputStream, defaultCharset);
+        return new HTMLParser(sniffed.input(), sniffed.charset());
+    }
+
+    /**
+     * The previous input isn't closed.
+     */
+    public void reset(InputStream inputStream) {
+        reset(inputStream, DEFAULT_CHARSET);
+    }
+
+    public void reset(InputStream inputStream, Charset charset) {
+        resetInput(inputStream, charset);
+        tokenizer.reset();
+        openTags.clear();
+        openElements.clear();
+    }
+
     @Override
     public HTMLElement parse() throws ParseException {
-        HTMLElement root = new HTMLElement();
-        root.setTag(MAIN_TAG);
-        parseTag(new TagContext(root, TagEnvironment.HTML));
+        final HTMLTreeBuilder treeBuilder = new HTMLTreeBuilder(openElements, false);
+        parseTo(treeBuilder);
+        return treeBuilder.getRoot();
+    }
+
+    public HTMLElement parseParallel() throws ParseException {
+        return parseParallel(ForkJoinPool.commonPool());
+    }
+
+    public HTMLElement parseParallel(ForkJoinPool pool) throws ParseException {
+        return new ParallelParser(readRemaining(), maxDepth, pool).parse();
+    }
+
+    public HTMLDocument parseDocument() throws ParseException {
+        final HTMLDocumentHandler documentHandler = new HTMLDocumentHandler();
+        parseTo(documentHandler);
+        return documentHandler.getDocument();
+    }
+
+    public HTMLIndex parseIndexed() throws ParseException {
+        final HTMLTreeBuilder treeBuilder = new HTMLTreeBuilder(openElements, true);
+        parseTo(treeBuilder);
+        return treeBuilder.getIndex();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the query isn't a supported selector
+     */
+    public void extract(String query, Consumer<HTMLElement> consumer) throws ParseException {
+        extract(Selector.compile(query), consumer);
+    }
+
+    public void extract(Selector selector, Consumer<HTMLElement> consumer) throws ParseException {
+        parseTo(new HTMLExtractor(selector, consumer));
+    }
 
-        if (canRead()) {
-            throw new ParseException("HTML must have ended at %d position"
-                    .formatted(countSkipChars));
+    public void parseTo(HTMLEventHandler handler) throws ParseException {
+        final ParseEvent event = new ParseEvent();
+        if (listener == null && !event.isEnabled()) {
+            parseEvents(handler);
+            return;
         }
 
-        final List<HTMLElement> rootChildren = root.getChildren();
-        if (rootChildren.size() == 1 && MAIN_TAG.equals(rootChildren.get(0).getTag())) {
-            root = rootChildren.get(0);
+        final InstrumentingHandler instrumentingHandler = new InstrumentingHandler(handler);
+        final long start = System.nanoTime();
+        event.begin();
+        try {
+            parseEvents(instrumentingHandler);
+        } catch (ParseException e) {
+            report(event, instrumentingHandler, start, e);
+            throw e;
         }
-        return root;
+        report(event, instrumentingHandler, start, null);
     }
 
-    private void parseTag(TagContext context) throws ParseException {
-        final String closeTag = makeCloseTag(context.parent().getTag());
-        skipUnnecessary();
-        while (canRead() && !checkString(closeTag, false)) {
-            if (checkString(BEGIN_CLOSE_TAG)) {
-                require(closeTag);
-            }
+    private void parseEvents(HTMLEventHandler handler) throws ParseException {
+        final HTMLEventReader reader = events();
+        handler.startDocument();
+        while (reader.dispatchNext(handler)) {
+            // Events are passed to the handler
+        }
+        handler.endDocument();
+    }
 
-            final String plainText = parsePlainText(context);
-            if (!plainText.isBlank()) {
-                context.parent().addChild(HTMLElement.builder().value(plainText).build());
-            }
+    /**
+     * Closing the reader closes the parser.
+     */
+    public HTMLEventReader events() {
+        return new HTMLEventReader(this);
+    }
 
-            skipUnnecessary();
-            final HTMLElement htmlElement = parseOpenTag();
-            if (htmlElement != null) {
-                if (!htmlElement.isSingle() && !htmlElement.isVoid()) {
-                    parseTag(new TagContext(htmlElement, makeTagEnvironment(htmlElement)));
-                    require(makeCloseTag(htmlElement.getTag()), false);
-                } else if (htmlElement.isVoid()) {
-                    checkStringAndSkip(makeCloseTag(htmlElement.getTag()), false);
-                }
-                context.parent().addChild(htmlElement);
+    private void report(ParseEvent event, InstrumentingHandler counts, long start, ParseException error) {
+        event.end();
+        final ParseStatistics statistics = new ParseStatistics(
+                getBytesRead(), tokenizer.position(), counts.elements, counts.attributes, counts.texts,
+                counts.comments, counts.maxDepth, getWindowFills(), getPeakWindowSize(),
+                Duration.ofNanos(System.nanoTime() - start)
+        );
+        if (event.shouldCommit()) {
+            event.bytes = statistics.bytes();
+            event.chars = statistics.chars();
+            event.elements = statistics.elements();
+            event.attributes = statistics.attributes();
+            event.texts = statistics.texts();
+            event.comments = statistics.comments();
+            event.maxDepth = statistics.maxDepth();
+            event.windowFills = statistics.windowFills();
+            event.peakWindowSize = statistics.peakWindowSize();
+            event.isSuccess = error == null;
+            event.commit();
+        }
+        if (listener != null) {
+            if (error == null) {
+                listener.parsed(statistics);
+            } else {
+                listener.failed(statistics, error);
             }
-            skipUnnecessary();
         }
     }
 
-    private String parsePlainText(TagContext context) throws ParseException {
-        final StringBuilder result = new StringBuilder();
-        switch (context.environment()) {
-            case STYLE, SCRIPT -> {
-                final String closeTag = makeCloseTag(context.parent().getTag());
-                while (canRead() && !checkString(closeTag, false)) {
-                    result.append(next());
-                }
-            }
-            case HTML -> {
-                skipComments();
-                while (canRead() && !checkString(BEGIN_OPEN_TAG, false)) {
-                    result.append(next());
-                    skipComments();
-                }
-            }
-        }
+    public ParseListener getListener() {
+        return listener;
+    }
 
-        return result.toString().trim();
+    public void setListener(ParseListener listener) {
+        this.listener = listener;
     }
 
-    private HTMLElement parseOpenTag() throws ParseException {
-        skipUnnecessary();
-        if (!canRead() || checkString(BEGIN_CLOSE_TAG) || !checkStringAndSkip(BEGIN_OPEN_TAG)) {
-            return null;
-        }
+    public int getMaxDepth() {
+        return maxDepth;
+    }
 
-        final HTMLElement htmlElement = new HTMLElement();
-        skipUnnecessary();
-        htmlElement.setTag(parseTagName());
-        skipUnnecessary();
-        parseAttributes(htmlElement);
-        skipUnnecessary();
-
-        if (checkStringAndSkip(FINAL_END_OPEN_TAG)) {
-            htmlElement.setSingle(true);
-        } else {
-            require(END_OPEN_TAG);
+    /**
+     * Documents nesting more elements are rejected with {@link ParseException}.
+     */
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive");
         }
+        this.maxDepth = maxDepth;
+    }
 
-        if (VOID_TAGS.contains(htmlElement.getTag())) {
-            htmlElement.setVoid(true);
-        }
+    public static boolean isVoidTag(String tag) {
+        return HTMLNames.isVoidTag(tag);
+    }
 
-        return htmlElement;
-    }
-
-    private String parseTagName() throws ParseException {
-        return parseUntilExclude(
-                () -> !Character.isWhitespace(lookup()) &&
-                        !checkListString(List.of(FINAL_END_OPEN_TAG, END_OPEN_TAG)),
-                () -> checkString(BEGIN_OPEN_TAG)
-        ).toLowerCase();
-    }
-
-    private void parseAttributes(HTMLElement htmlElement) throws ParseException {
-        do {
-            skipUnnecessary();
-            final String attributeName = parseUntilExclude(
-                    () -> !Character.isWhitespace(lookup()) &&
-                            !checkListString(List.of(ASSIGN, FINAL_END_OPEN_TAG, END_OPEN_TAG)),
-                    () -> checkString(BEGIN_OPEN_TAG)
-            );
-
-            if (!attributeName.isEmpty()) {
-                if (Character.isWhitespace(lookup()) || checkString(FINAL_END_OPEN_TAG) || checkString(END_OPEN_TAG)) {
-                    htmlElement.addAttributeWithoutArgs(attributeName);
-                } else {
-                    checkStringAndSkip(ASSIGN);
-                    final String quote = Character.toString(next());
-                    final String attributeValue = parseUntilExclude(
-                            () -> !checkString(quote),
-                            () -> checkString(BEGIN_OPEN_TAG)
-                    );
-                    require(quote);
-                    htmlElement.addAttribute(attributeName, attributeValue);
-                }
-            } else {
-                if (checkString(ASSIGN)) {
-                    throw new ParseException("Incorrect attribute declaration at %d position");
-                }
+    void skipVoidCloseTag(String tag) throws ParseException {
+        if (readToken()) {
+            final HTMLToken token = tokenizer.peekToken();
+            if (token.type() == HTMLToken.Type.END_TAG && token.name().equals(tag)) {
+                tokenizer.takeToken();
             }
-        } while (!checkString(FINAL_END_OPEN_TAG) && !checkString(END_OPEN_TAG));
+        }
+    }
+
+    HTMLToken nextToken() throws ParseException {
+        return readToken() ? tokenizer.takeToken() : null;
     }
 
-    private void skipComments() throws ParseException {
-        if (checkStringAndSkip(BEGIN_COMMENT)) {
-            parseUntilString(List.of(END_COMMENT));
-            require(END_COMMENT);
+    boolean takeText(HTMLEventHandler handler) throws ParseException {
+        if (!readToken() || !tokenizer.hasTextToken()) {
+            return false;
         }
+
+        tokenizer.takeText(handler);
+        return true;
     }
 
-    private void skipDoctype() throws ParseException {
-        if (checkString(DOCTYPE_HTML_START, false)) {
-            checkStringAndSkip(DOCTYPE_HTML_START, false);
-            parseUntilString(List.of(">"));
-            require(">");
+    private boolean readToken() throws ParseException {
+        while (!tokenizer.hasToken()) {
+            if (!consumeBuffer(tokenizer::tokenize)) {
+                if (tokenizer.isFinished()) {
+                    return false;
+                }
+                tokenizer.finish();
+            }
         }
+        return true;
     }
 
-    private void skipUnnecessary() throws ParseException {
-        int startPos;
-        do {
-            startPos = countSkipChars;
-            skipWhitespace();
-            skipComments();
-            skipDoctype();
-        } while (startPos < countSkipChars);
+    void setSkipping(boolean isSkipping) {
+        tokenizer.setSkipping(isSkipping);
     }
 
-    private String makeCloseTag(String tagName) {
-        return BEGIN_CLOSE_TAG + tagName + END_CLOSE_TAG;
+    ElementStack<String> openTags() {
+        return openTags;
     }
 
-    private TagEnvironment makeTagEnvironment(HTMLElement htmlElement) {
-        return switch (htmlElement.getTag().toLowerCase()) {
-            case "script" -> TagEnvironment.SCRIPT;
-            case "style" -> TagEnvironment.STYLE;
-            default -> TagEnvironment.HTML;
-        };
+    long position() {
+        return tokenizer.position();
     }
 }
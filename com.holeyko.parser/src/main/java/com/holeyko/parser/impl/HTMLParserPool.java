@@ -0,0 +1,64 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A parser is used by one thread at a time. Streams passed to the pool aren't closed by it.
+ */
+public class HTMLParserPool {
+    private final BlockingQueue<HTMLParser> idle;
+
+    public HTMLParserPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        idle = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public HTMLParser acquire(InputStream inputStream) {
+        return acquire(inputStream, StandardCharsets.UTF_8);
+    }
+
+    public HTMLParser acquire(InputStream inputStream, Charset charset) {
+        final HTMLParser parser = idle.poll();
+        if (parser == null) {
+            return new HTMLParser(inputStream, charset);
+        }
+        parser.reset(inputStream, charset);
+        return parser;
+    }
+
+    /**
+     * The parser mustn't be used after it's released. Its input isn't closed.
+     */
+    public void release(HTMLParser parser) {
+        parser.reset(InputStream.nullInputStream());
+        parser.setMaxDepth(HTMLParser.DEFAULT_MAX_DEPTH);
+        parser.setListener(null);
+        idle.offer(parser);
+    }
+
+    public HTMLElement parse(InputStream inputStream) throws ParseException {
+        return parse(inputStream, StandardCharsets.UTF_8);
+    }
+
+    public HTMLElement parse(InputStream inputStream, Charset charset) throws ParseException {
+        final HTMLParser parser = acquire(inputStream, charset);
+        try {
+            return parser.parse();
+        } finally {
+            release(parser);
+        }
+    }
+
+    public int size() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,212 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.Selector;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Nothing ever blocks, so one thread may drive many parsers.
+ * <p>
+ * For well-formed input events are the ones {@link HTMLParser#parseTo(HTMLEventHandler)} reports. For malformed
+ * input only the final error is the same: the pull parser reads a token ahead after a void start tag, so it fails
+ * before reporting the void element, while this parser has already reported it. After {@link #finish()} or a
+ * {@link ParseException} the parser can't be fed anymore.
+ */
+public class HTMLPushParser {
+    private static final int BYTE_BUFFER_SIZE = 8 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+
+    private final HTMLEventHandler handler;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final HTMLTokenizer tokenizer = new HTMLTokenizer();
+    private final ElementStack<String> openTags = new ElementStack<>();
+    private String voidTag;
+    private int maxDepth = HTMLParser.DEFAULT_MAX_DEPTH;
+    private boolean isStarted = false;
+    private boolean isClosed = false;
+
+    public HTMLPushParser(HTMLEventHandler handler) {
+        this(handler, StandardCharsets.UTF_8);
+    }
+
+    public HTMLPushParser(HTMLEventHandler handler, Charset charset) {
+        this.handler = handler;
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the query isn't a supported selector
+     */
+    public static HTMLPushParser extracting(String query, Consumer<HTMLElement> consumer) {
+        return new HTMLPushParser(new HTMLExtractor(Selector.compile(query), consumer));
+    }
+
+    /**
+     * The chunk isn't kept.
+     */
+    public void feed(ByteBuffer chunk) throws ParseException {
+        start();
+        while (chunk.hasRemaining()) {
+            final int count = Math.min(bytes.remaining(), chunk.remaining());
+            bytes.put(chunk.slice(chunk.position(), count));
+            chunk.position(chunk.position() + count);
+            bytes.flip();
+            decode(false);
+            bytes.compact();
+        }
+    }
+
+    public void feed(byte[] chunk, int offset, int length) throws ParseException {
+        feed(ByteBuffer.wrap(chunk, offset, length));
+    }
+
+    void feed(char[] chunk, int from, int to) throws ParseException {
+        start();
+        tokenize(chunk, from, to);
+    }
+
+    /**
+     * @throws ParseException if the document isn't complete
+     */
+    public void finish() throws ParseException {
+        start();
+        isClosed = true;
+        bytes.flip();
+        decode(true);
+        decoder.flush(chars);
+        tokenize();
+
+        tokenizer.finish();
+        handleTokens();
+        if (!openTags.isEmpty()) {
+            throw new ParseException("Expected </%s> at %d position"
+                    .formatted(openTags.peek(), tokenizer.position()));
+        }
+        handler.endDocument();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive");
+        }
+        this.maxDepth = maxDepth;
+    }
+
+    private void start() throws ParseException {
+        if (isClosed) {
+            throw new IllegalStateException("Parser is finished");
+        }
+        if (!isStarted) {
+            isStarted = true;
+            handler.startDocument();
+        }
+    }
+
+    private void decode(boolean isEndOfInput) throws ParseException {
+        CoderResult result;
+        do {
+            result = decoder.decode(bytes, chars, isEndOfInput);
+            tokenize();
+        } while (result.isOverflow());
+    }
+
+    private void tokenize() throws ParseException {
+        tokenize(chars.array(), 0, chars.position());
+        chars.clear();
+    }
+
+    private void tokenize(char[] chunk, int from, int to) throws ParseException {
+        try {
+            while (from < to) {
+                from = tokenizer.tokenize(chunk, from, to);
+                handleTokens();
+            }
+        } catch (ParseException e) {
+            isClosed = true;
+            throw e;
+        }
+    }
+
+    long tagStart() {
+        return tokenizer.tagStart();
+    }
+
+    long position() {
+        return tokenizer.position();
+    }
+
+    private void handleTokens() throws ParseException {
+        while (tokenizer.hasToken()) {
+            if (tokenizer.hasTextToken()) {
+                voidTag = null;
+                tokenizer.takeText(handler);
+            } else {
+                handle(tokenizer.takeToken());
+            }
+        }
+    }
+
+    private void handle(HTMLToken token) throws ParseException {
+        if (voidTag != null) {
+            final String tag = voidTag;
+            voidTag = null;
+            if (token.type() == HTMLToken.Type.END_TAG && token.name().equals(tag)) {
+                return;
+            }
+        }
+
+        switch (token.type()) {
+            case TEXT -> handler.text(token.text());
+            case COMMENT -> handler.comment(token.text());
+            case DOCTYPE -> handler.doctype(token.text());
+            case START_TAG -> {
+                final String tag = token.name();
+                final boolean isVoid = HTMLParser.isVoidTag(tag);
+                if (!isVoid && !token.isSingle()) {
+                    if (openTags.size() == maxDepth) {
+                        throw new ParseException("Nesting is deeper than %d at %d position"
+                                .formatted(maxDepth, tokenizer.position()));
+                    }
+                    openTags.push(tag);
+                }
+                handler.startElement(tag, token.attributes(), token.isSingle());
+                if (isVoid || token.isSingle()) {
+                    handler.endElement(tag);
+                }
+                if (isVoid) {
+                    voidTag = tag;
+                }
+            }
+            case END_TAG -> {
+                if (openTags.isEmpty()) {
+                    throw new ParseException("HTML must have ended at %d position"
+                            .formatted(tokenizer.position()));
+                }
+                if (!openTags.peek().equals(token.name())) {
+                    throw new ParseException("Expected </%s> at %d position"
+                            .formatted(openTags.peek(), tokenizer.position()));
+                }
+                openTags.pop();
+                handler.endElement(token.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.holeyko.parser.impl;
+
+import java.util.Collections;
+import java.util.Map;
+
+public record HTMLToken(Type type, String name, String text, Map<String, String> attributes, boolean isSingle) {
+    public enum Type {
+        START_TAG, END_TAG, TEXT, COMMENT, DOCTYPE
+    }
+
+    public static HTMLToken startTag(String name, Map<String, String> attributes, boolean isSingle) {
+        return new HTMLToken(Type.START_TAG, name, null, attributes, isSingle);
+    }
+
+    public static HTMLToken endTag(String name) {
+        return new HTMLToken(Type.END_TAG, name, null, Collections.emptyMap(), false);
+    }
+
+    public static HTMLToken text(String text) {
+        return new HTMLToken(Type.TEXT, null, text, Collections.emptyMap(), false);
+    }
+
+    public static HTMLToken comment(String text) {
+        return new HTMLToken(Type.COMMENT, null, text, Collections.emptyMap(), false);
+    }
+
+    public static HTMLToken doctype(String text) {
+        return new HTMLToken(Type.DOCTYPE, null, text, Collections.emptyMap(), false);
+    }
+}
@@ -0,0 +1,491 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.Attributes;
+
+import java.util.Arrays;
+
+public class HTMLTokenizer {
+    private enum State {
+        DATA, TAG_OPEN, TAG_NAME, END_TAG_OPEN, END_TAG_NAME, AFTER_END_TAG_NAME,
+        BEFORE_ATTRIBUTE_NAME, ATTRIBUTE_NAME, AFTER_ATTRIBUTE_NAME, BEFORE_ATTRIBUTE_VALUE,
+        ATTRIBUTE_VALUE_QUOTED, ATTRIBUTE_VALUE_UNQUOTED, SELF_CLOSING_START_TAG,
+        MARKUP_DECLARATION, COMMENT, BOGUS_COMMENT, DOCTYPE,
+        RAW_TEXT, RAW_TEXT_LESS_THAN, RAW_TEXT_END_TAG_NAME
+    }
+
+    private static final String COMMENT_START = "--";
+    private static final String DOCTYPE_START = "DOCTYPE";
+    private static final StringMatcher MARKUP_DECLARATIONS = StringMatcher.ignoreCase(COMMENT_START, DOCTYPE_START);
+    private static final int COMMENT_DECLARATION = 0;
+    private static final int DOCTYPE_DECLARATION = 1;
+    private static final int INITIAL_TEXT_CAPACITY = 256;
+    private static final HTMLToken PENDING_TEXT = HTMLToken.text(null);
+
+    private char[] text = new char[INITIAL_TEXT_CAPACITY];
+    private int textLength = 0;
+    private final StringBuilder name = new StringBuilder();
+    private final StringBuilder value = new StringBuilder();
+    private State state = State.DATA;
+    private String tagName;
+    private String attributeName;
+    private Attributes attributes;
+    private String rawTextTag;
+    private char quote;
+    private int dashes;
+    private long position = 0;
+    private long tagStart = 0;
+    private int chunkStart;
+    private boolean isFinished = false;
+    private boolean isSkipping = false;
+    private HTMLToken token;
+
+    public int tokenize(char[] chars, int from, int to) throws ParseException {
+        chunkStart = from;
+        int i = from;
+        while (i < to && token == null) {
+            final char c = chars[i];
+            switch (state) {
+                case DATA -> {
+                    final int end = indexOf(chars, i, to, '<');
+                    appendText(chars, i, end);
+                    i = end;
+                    if (end < to) {
+                        tagStart = position + end - chunkStart;
+                        state = State.TAG_OPEN;
+                        ++i;
+                    }
+                }
+                case TAG_OPEN -> {
+                    if (Character.isLetter(c) || c == '/' || c == '!' || c == '?') {
+                        if (emitText()) {
+                            break;
+                        }
+                        switch (c) {
+                            case '/' -> state = State.END_TAG_OPEN;
+                            case '!' -> {
+                                value.setLength(0);
+                                state = State.MARKUP_DECLARATION;
+                            }
+                            case '?' -> state = State.BOGUS_COMMENT;
+                            default -> {
+                                name.setLength(0);
+                                state = State.TAG_NAME;
+                                continue;
+                            }
+                        }
+                        ++i;
+                    } else {
+                        appendText('<');
+                        state = State.DATA;
+                    }
+                }
+                case TAG_NAME -> {
+                    final int end = scanName(chars, i, to);
+                    name.append(chars, i, end - i);
+                    i = end;
+                    if (end < to) {
+                        tagName = HTMLNames.tagName(name);
+                        attributes = Attributes.empty();
+                        state = State.BEFORE_ATTRIBUTE_NAME;
+                    }
+                }
+                case BEFORE_ATTRIBUTE_NAME -> {
+                    if (Character.isWhitespace(c)) {
+                        ++i;
+                    } else if (c == '/') {
+                        state = State.SELF_CLOSING_START_TAG;
+                        ++i;
+                    } else if (c == '>') {
+                        emitStartTag(false);
+                        ++i;
+                    } else if (c == '=') {
+                        throw error("Incorrect attribute declaration at %d position", i);
+                    } else if (c == '<') {
+                        throw error("Unexpected token at %d position", i);
+                    } else {
+                        name.setLength(0);
+                        state = State.ATTRIBUTE_NAME;
+                    }
+                }
+                case ATTRIBUTE_NAME -> {
+                    int end = i;
+                    while (end < to && !isAttributeNameEnd(chars[end])) {
+                        ++end;
+                    }
+                    if (!isSkipping) {
+                        name.append(chars, i, end - i);
+                    }
+                    i = end;
+                    if (end < to) {
+                        if (chars[end] == '<') {
+                            throw error("Unexpected token at %d position", end);
+                        }
+                        attributeName = isSkipping ? null : HTMLNames.attributeName(name);
+                        state = State.AFTER_ATTRIBUTE_NAME;
+                    }
+                }
+                case AFTER_ATTRIBUTE_NAME -> {
+                    if (Character.isWhitespace(c)) {
+                        ++i;
+                    } else if (c == '=') {
+                        state = State.BEFORE_ATTRIBUTE_VALUE;
+                        ++i;
+                    } else {
+                        putAttribute(null);
+                        state = State.BEFORE_ATTRIBUTE_NAME;
+                    }
+                }
+                case BEFORE_ATTRIBUTE_VALUE -> {
+                    value.setLength(0);
+                    if (Character.isWhitespace(c)) {
+                        ++i;
+                    } else if (c == '"' || c == '\'') {
+                        quote = c;
+                        state = State.ATTRIBUTE_VALUE_QUOTED;
+                        ++i;
+                    } else if (c == '>') {
+                        putAttribute("");
+                        state = State.BEFORE_ATTRIBUTE_NAME;
+                    } else if (c == '<') {
+                        throw error("Unexpected token at %d position", i);
+                    } else {
+                        state = State.ATTRIBUTE_VALUE_UNQUOTED;
+                    }
+                }
+                case ATTRIBUTE_VALUE_QUOTED -> {
+                    final int end = indexOf(chars, i, to, quote);
+                    if (!isSkipping) {
+                        value.append(chars, i, end - i);
+                    }
+                    i = end;
+                    if (end < to) {
+                        putAttribute(value);
+                        state = State.BEFORE_ATTRIBUTE_NAME;
+                        ++i;
+                    }
+                }
+                case ATTRIBUTE_VALUE_UNQUOTED -> {
+                    int end = i;
+                    while (end < to && !Character.isWhitespace(chars[end]) && chars[end] != '>' && chars[end] != '<') {
+                        ++end;
+                    }
+                    if (!isSkipping) {
+                        value.append(chars, i, end - i);
+                    }
+                    i = end;
+                    if (end < to) {
+                        if (chars[end] == '<') {
+                            throw error("Unexpected token at %d position", end);
+                        }
+                        putAttribute(value);
+                        state = State.BEFORE_ATTRIBUTE_NAME;
+                    }
+                }
+                case SELF_CLOSING_START_TAG -> {
+                    if (c == '>') {
+                        emitStartTag(true);
+                        ++i;
+                    } else {
+                        state = State.BEFORE_ATTRIBUTE_NAME;
+                    }
+                }
+                case END_TAG_OPEN -> {
+                    if (!Character.isLetter(c)) {
+                        throw error("Expected tag name at %d position", i);
+                    }
+                    name.setLength(0);
+                    state = State.END_TAG_NAME;
+                }
+                case END_TAG_NAME -> {
+                    final int end = scanName(chars, i, to);
+                    name.append(chars, i, end - i);
+                    i = end;
+                    if (end < to) {
+                        tagName = HTMLNames.tagName(name);
+                        state = State.AFTER_END_TAG_NAME;
+                    }
+                }
+                case AFTER_END_TAG_NAME -> {
+                    if (c == '>') {
+                        token = HTMLToken.endTag(tagName);
+                        state = State.DATA;
+                    } else if (!Character.isWhitespace(c) && c != '/') {
+                        throw error("Expected > at %d position", i);
+                    }
+                    ++i;
+                }
+                case MARKUP_DECLARATION -> {
+                    ++i;
+                    if (c == '>') {
+                        if (!isSkipping) {
+                            token = HTMLToken.comment(value.toString());
+                        }
+                        state = State.DATA;
+                        break;
+                    }
+
+                    value.append(c);
+                    textLength = 0;
+                    final int declaration = MARKUP_DECLARATIONS.matchPrefix(value);
+                    if (declaration == COMMENT_DECLARATION) {
+                        dashes = 0;
+                        state = State.COMMENT;
+                    } else if (declaration == DOCTYPE_DECLARATION) {
+                        state = State.DOCTYPE;
+                    } else if (declaration == StringMatcher.NO_MATCH) {
+                        appendText(value);
+                        state = State.BOGUS_COMMENT;
+                    }
+                }
+                case COMMENT -> {
+                    int end = i;
+                    while (end < to && (chars[end] != '>' || dashes < 2)) {
+                        dashes = chars[end] == '-' ? dashes + 1 : 0;
+                        ++end;
+                    }
+                    appendText(chars, i, end);
+                    i = end;
+                    if (end < to) {
+                        if (!isSkipping) {
+                            textLength -= COMMENT_START.length();
+                            token = HTMLToken.comment(takeText());
+                        }
+                        state = State.DATA;
+                        ++i;
+                    }
+                }
+                case BOGUS_COMMENT, DOCTYPE -> {
+                    final int end = indexOf(chars, i, to, '>');
+                    appendText(chars, i, end);
+                    i = end;
+                    if (end < to) {
+                        if (!isSkipping) {
+                            token = state == State.DOCTYPE ? HTMLToken.doctype(takeText().trim()) : HTMLToken.comment(takeText());
+                        }
+                        state = State.DATA;
+                        ++i;
+                    }
+                }
+                case RAW_TEXT -> {
+                    final int end = indexOf(chars, i, to, '<');
+                    appendText(chars, i, end);
+                    i = end;
+                    if (end < to) {
+                        state = State.RAW_TEXT_LESS_THAN;
+                        ++i;
+                    }
+                }
+                case RAW_TEXT_LESS_THAN -> {
+                    if (c == '/') {
+                        value.setLength(0);
+                        state = State.RAW_TEXT_END_TAG_NAME;
+                        ++i;
+                    } else {
+                        appendText('<');
+                        state = State.RAW_TEXT;
+                    }
+                }
+                case RAW_TEXT_END_TAG_NAME -> {
+                    final int matched = value.length();
+                    if (matched < rawTextTag.length() && Character.toLowerCase(c) == rawTextTag.charAt(matched)) {
+                        value.append(c);
+                        ++i;
+                    } else if (matched == rawTextTag.length() && (Character.isWhitespace(c) || c == '/' || c == '>')) {
+                        if (emitText()) {
+                            break;
+                        }
+                        tagName = rawTextTag;
+                        state = State.AFTER_END_TAG_NAME;
+                    } else {
+                        appendText("</");
+                        appendText(value);
+                        state = State.RAW_TEXT;
+                    }
+                }
+            }
+        }
+
+        position += i - from;
+        return i;
+    }
+
+    /**
+     * @throws ParseException if the input ended inside a tag, comment or doctype
+     */
+    public void finish() throws ParseException {
+        if (isFinished) {
+            return;
+        }
+
+        switch (state) {
+            case DATA, RAW_TEXT -> {
+            }
+            case RAW_TEXT_LESS_THAN -> appendText('<');
+            case RAW_TEXT_END_TAG_NAME -> {
+                appendText("</");
+                appendText(value);
+            }
+            case MARKUP_DECLARATION, COMMENT, BOGUS_COMMENT -> throw new ParseException(
+                    "Comment isn't closed at %d position".formatted(position)
+            );
+            default -> throw new ParseException("Unexpected end of input at %d position".formatted(position));
+        }
+
+        isFinished = true;
+        emitText();
+    }
+
+    public void reset() {
+        textLength = 0;
+        name.setLength(0);
+        value.setLength(0);
+        state = State.DATA;
+        tagName = null;
+        attributeName = null;
+        attributes = null;
+        rawTextTag = null;
+        dashes = 0;
+        position = 0;
+        tagStart = 0;
+        isFinished = false;
+        isSkipping = false;
+        token = null;
+    }
+
+    public void setSkipping(boolean isSkipping) {
+        this.isSkipping = isSkipping;
+    }
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    public boolean hasToken() {
+        return token != null;
+    }
+
+    public HTMLToken peekToken() {
+        return token;
+    }
+
+    public HTMLToken takeToken() {
+        final HTMLToken result = token == PENDING_TEXT ? HTMLToken.text(takeText()) : token;
+        token = null;
+        return result;
+    }
+
+    public boolean hasTextToken() {
+        return token == PENDING_TEXT;
+    }
+
+    public void takeText(HTMLEventHandler handler) throws ParseException {
+        token = null;
+        handler.text(text, 0, textLength);
+        textLength = 0;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public long tagStart() {
+        return tagStart;
+    }
+
+    private void emitStartTag(boolean isSingle) {
+        token = HTMLToken.startTag(tagName, attributes, isSingle);
+        if (!isSingle && HTMLNames.isRawTextTag(tagName)) {
+            rawTextTag = tagName;
+            state = State.RAW_TEXT;
+        } else {
+            state = State.DATA;
+        }
+    }
+
+    private void putAttribute(CharSequence attributeValue) {
+        if (!isSkipping) {
+            if (!attributes.isMutable()) {
+                attributes = new Attributes();
+            }
+            attributes.put(attributeName, attributeValue == null ? null : attributeValue.toString());
+        }
+    }
+
+    private void appendText(char[] chars, int from, int to) {
+        if (!isSkipping) {
+            ensureTextCapacity(to - from);
+            System.arraycopy(chars, from, text, textLength, to - from);
+            textLength += to - from;
+        }
+    }
+
+    private void appendText(char c) {
+        if (!isSkipping) {
+            ensureTextCapacity(1);
+            text[textLength++] = c;
+        }
+    }
+
+    private void appendText(CharSequence s) {
+        if (!isSkipping) {
+            ensureTextCapacity(s.length());
+            for (int i = 0; i < s.length(); ++i) {
+                text[textLength++] = s.charAt(i);
+            }
+        }
+    }
+
+    private void ensureTextCapacity(int count) {
+        if (textLength + count > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + count));
+        }
+    }
+
+    private boolean emitText() {
+        if (textLength == 0) {
+            return false;
+        }
+
+        token = PENDING_TEXT;
+        return true;
+    }
+
+    private String takeText() {
+        final String result = new String(text, 0, textLength);
+        textLength = 0;
+        return result;
+    }
+
+    private int scanName(char[] chars, int from, int to) throws ParseException {
+        int end = from;
+        while (end < to && !isTagNameEnd(chars[end])) {
+            ++end;
+        }
+        if (end < to && chars[end] == '<') {
+            throw error("Unexpected token at %d position", end);
+        }
+        return end;
+    }
+
+    private ParseException error(String message, int index) {
+        return new ParseException(message.formatted(position + index - chunkStart));
+    }
+
+    private static int indexOf(char[] chars, int from, int to, char c) {
+        int i = from;
+        while (i < to && chars[i] != c) {
+            ++i;
+        }
+        return i;
+    }
+
+    private static boolean isTagNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '/' || c == '>' || c == '<';
+    }
+
+    private static boolean isAttributeNameEnd(char c) {
+        return isTagNameEnd(c) || c == '=';
+    }
+}
@@ -0,0 +1,122 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.HTMLIndex;
+
+import java.util.List;
+import java.util.Map;
+
+class HTMLTreeBuilder implements HTMLEventHandler {
+    private static final String MAIN_TAG = "html";
+
+    private final ElementStack<HTMLElement> openElements;
+    private final StringBuilder plainText = new StringBuilder();
+    private final HTMLIndex.HTMLIndexBuilder index;
+    private final boolean isFragment;
+    private HTMLElement root;
+
+    HTMLTreeBuilder() {
+        this(new ElementStack<>(), false);
+    }
+
+    HTMLTreeBuilder(ElementStack<HTMLElement> openElements, boolean isIndexing) {
+        this(openElements, isIndexing, false);
+    }
+
+    HTMLTreeBuilder(ElementStack<HTMLElement> openElements, boolean isIndexing, boolean isFragment) {
+        this.openElements = openElements;
+        index = isIndexing ? HTMLIndex.builder() : null;
+        this.isFragment = isFragment;
+    }
+
+    static HTMLTreeBuilder fragment() {
+        return new HTMLTreeBuilder(new ElementStack<>(), false, true);
+    }
+
+    @Override
+    public void startDocument() {
+        root = new HTMLElement();
+        root.setTag(MAIN_TAG);
+        openElements.clear();
+        openElements.push(root);
+        plainText.setLength(0);
+    }
+
+    @Override
+    public void endDocument() {
+        addPlainText();
+        openElements.clear();
+        final List<HTMLElement> rootChildren = root.getChildren();
+        if (!isFragment && rootChildren.size() == 1 && MAIN_TAG.equals(rootChildren.get(0).getTag())) {
+            root = rootChildren.get(0);
+        }
+    }
+
+    @Override
+    public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+        addPlainText();
+        final HTMLElement htmlElement = new HTMLElement();
+        htmlElement.setTag(tag);
+        htmlElement.setAttributes(attributes);
+        htmlElement.setSingle(isSingle);
+        htmlElement.setVoid(HTMLParser.isVoidTag(tag));
+        openElements.peek().addChild(htmlElement);
+        openElements.push(htmlElement);
+        if (index != null) {
+            index.add(htmlElement);
+        }
+    }
+
+    @Override
+    public void endElement(String tag) {
+        addPlainText();
+        openElements.pop();
+    }
+
+    @Override
+    public void text(String text) {
+        plainText.append(text);
+    }
+
+    @Override
+    public void text(char[] chars, int from, int to) {
+        plainText.append(chars, from, to - from);
+    }
+
+    @Override
+    public void doctype(String doctype) {
+        addPlainText();
+    }
+
+    public HTMLElement getRoot() {
+        return root;
+    }
+
+    HTMLElement currentElement() {
+        return openElements.peek();
+    }
+
+    public HTMLIndex getIndex() {
+        if (index == null) {
+            throw new IllegalStateException("Elements aren't indexed");
+        }
+        return index.build(root);
+    }
+
+    private void addPlainText() {
+        int from = 0;
+        int to = plainText.length();
+        while (from < to && plainText.charAt(from) <= ' ') {
+            ++from;
+        }
+        while (to > from && plainText.charAt(to - 1) <= ' ') {
+            --to;
+        }
+        final String text = from < to ? plainText.substring(from, to) : "";
+        plainText.setLength(0);
+        if (!text.isBlank()) {
+            openElements.peek().addChild(HTMLElement.builder().value(text).build());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.exception.ParseException;
+
+import java.util.Map;
+
+class InstrumentingHandler implements HTMLEventHandler {
+    private final HTMLEventHandler handler;
+    long elements = 0;
+    long attributes = 0;
+    long texts = 0;
+    long comments = 0;
+    int maxDepth = 0;
+    private int depth = 0;
+
+    InstrumentingHandler(HTMLEventHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void startDocument() throws ParseException {
+        handler.startDocument();
+    }
+
+    @Override
+    public void endDocument() throws ParseException {
+        handler.endDocument();
+    }
+
+    @Override
+    public void startElement(String tag, Map<String, String> attributes, boolean isSingle) throws ParseException {
+        ++elements;
+        this.attributes += attributes.size();
+        maxDepth = Math.max(maxDepth, ++depth);
+        handler.startElement(tag, attributes, isSingle);
+    }
+
+    @Override
+    public void endElement(String tag) throws ParseException {
+        --depth;
+        handler.endElement(tag);
+    }
+
+    @Override
+    public void text(String text) throws ParseException {
+        ++texts;
+        handler.text(text);
+    }
+
+    @Override
+    public void text(char[] chars, int from, int to) throws ParseException {
+        ++texts;
+        handler.text(chars, from, to);
+    }
+
+    @Override
+    public void comment(String comment) throws ParseException {
+        ++comments;
+        handler.comment(comment);
+    }
+
+    @Override
+    public void doctype(String doctype) throws ParseException {
+        handler.doctype(doctype);
+    }
+}
@@ -0,0 +1,86 @@
+package com.holeyko.parser.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class MappedFileInputStream extends InputStream {
+    private static final long MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    private final long windowSize;
+    private final FileChannel channel;
+    private final long size;
+    private long windowStart;
+    private ByteBuffer window;
+
+    MappedFileInputStream(Path path) throws IOException {
+        this(path, MAX_WINDOW_SIZE);
+    }
+
+    MappedFileInputStream(Path path, long windowSize) throws IOException {
+        this.windowSize = windowSize;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        size = channel.size();
+        map(0);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!window.hasRemaining() && !nextWindow()) {
+            return -1;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!window.hasRemaining() && !nextWindow()) {
+            return -1;
+        }
+
+        final int count = Math.min(length, window.remaining());
+        window.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    ByteBuffer window() {
+        return window;
+    }
+
+    long position() {
+        return windowStart + window.position();
+    }
+
+    boolean isLastWindow() {
+        return windowStart + window.capacity() == size;
+    }
+
+    boolean nextWindow() throws IOException {
+        if (isLastWindow()) {
+            return false;
+        }
+        map(windowStart + window.position());
+        return true;
+    }
+
+    private void map(long from) throws IOException {
+        windowStart = from;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(windowSize, size - from));
+    }
+}
@@ -0,0 +1,75 @@
+package com.holeyko.parser.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+class MappedFileReader extends Reader {
+    private final MappedFileInputStream input;
+    private final CharsetDecoder decoder;
+    private final CharBuffer pair = CharBuffer.allocate(2);
+    private boolean isFlushed = false;
+
+    MappedFileReader(MappedFileInputStream input, Charset charset) {
+        this.input = input;
+        decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        pair.flip();
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (pair.hasRemaining()) {
+            chars[offset] = pair.get();
+            return 1;
+        }
+        if (length == 1) {
+            pair.clear();
+            final int read = decode(pair);
+            pair.flip();
+            if (read == -1) {
+                return -1;
+            }
+            chars[offset] = pair.get();
+            return 1;
+        }
+
+        return decode(CharBuffer.wrap(chars, offset, length));
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private int decode(CharBuffer out) throws IOException {
+        final int start = out.position();
+        while (!isFlushed) {
+            final boolean isLastWindow = input.isLastWindow();
+            final CoderResult result = decoder.decode(input.window(), out, isLastWindow);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (out.position() > start) {
+                return out.position() - start;
+            }
+
+            if (isLastWindow) {
+                decoder.flush(out);
+                isFlushed = true;
+            } else {
+                input.nextWindow();
+            }
+        }
+
+        return out.position() > start ? out.position() - start : -1;
+    }
+}
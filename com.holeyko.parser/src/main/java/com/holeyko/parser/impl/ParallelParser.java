@@ -0,0 +1,216 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+
+import java.io.CharArrayReader;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Malformed documents are parsed sequentially, so errors are reported as the sequential parse does.
+ */
+class ParallelParser {
+    private static final int MIN_PARALLEL_LENGTH = 256 * 1024;
+    private static final int MIN_SEGMENT_LENGTH = 64 * 1024;
+    private static final int SEGMENTS_PER_THREAD = 4;
+    private static final String ROOT_TAG = "html";
+
+    private final char[] chars;
+    private final int length;
+    private final int maxDepth;
+    private final ForkJoinPool pool;
+
+    ParallelParser(CharBuffer content, int maxDepth, ForkJoinPool pool) {
+        chars = content.array();
+        length = content.limit();
+        this.maxDepth = maxDepth;
+        this.pool = pool;
+    }
+
+    HTMLElement parse() throws ParseException {
+        final Container container = length < MIN_PARALLEL_LENGTH ? null : findContainer();
+        if (container != null && container.splitCount > 2 && maxDepth > container.depth) {
+            final HTMLElement root = parseSplit(container);
+            if (root != null) {
+                return root;
+            }
+        }
+
+        final HTMLParser parser = new HTMLParser(new CharArrayReader(chars, 0, length));
+        parser.setMaxDepth(maxDepth);
+        return parser.parse();
+    }
+
+    private Container findContainer() {
+        final int step = Math.max(MIN_SEGMENT_LENGTH, length / (pool.getParallelism() * SEGMENTS_PER_THREAD));
+        final Scanner scanner = new Scanner();
+        final ElementStack<Container> openElements = new ElementStack<>();
+        openElements.push(new Container(ROOT_TAG, 0));
+        Container best = null;
+        int endCount = 0;
+        try {
+            HTMLToken token = scanner.next();
+            while (token != null) {
+                HTMLToken next = null;
+                if (token.type() == HTMLToken.Type.START_TAG) {
+                    final String tag = token.name();
+                    if (HTMLParser.isVoidTag(tag)) {
+                        next = scanner.next();
+                        if (next != null && next.type() == HTMLToken.Type.END_TAG && next.name().equals(tag)) {
+                            next = null;
+                        }
+                        ++endCount;
+                    } else if (token.isSingle()) {
+                        ++endCount;
+                    } else {
+                        if (openElements.size() - 1 == maxDepth) {
+                            return null;
+                        }
+                        openElements.push(new Container(tag, openElements.size()));
+                    }
+                } else {
+                    if (openElements.size() == 1 || !openElements.peek().tag.equals(token.name())) {
+                        return null;
+                    }
+                    final Container closed = openElements.pop();
+                    best = closed.splitCount > (best == null ? 0 : best.splitCount) ? closed : best;
+                    openElements.peek().addChildEnd(scanner.position, ++endCount, step);
+                }
+                token = next != null ? next : scanner.next();
+            }
+        } catch (ParseException e) {
+            return null;
+        }
+
+        if (openElements.size() != 1) {
+            return null;
+        }
+        final Container root = openElements.pop();
+        return root.splitCount > (best == null ? 0 : best.splitCount) ? root : best;
+    }
+
+    private HTMLElement parseSplit(Container container) throws ParseException {
+        final List<ForkJoinTask<List<HTMLElement>>> segments = new ArrayList<>(container.splitCount - 1);
+        for (int i = 1; i < container.splitCount; ++i) {
+            final int from = container.splitOffsets[i - 1];
+            final int to = container.splitOffsets[i];
+            segments.add(pool.submit(() -> parseSegment(from, to, maxDepth - container.depth)));
+        }
+
+        final int prefixLength = container.splitOffsets[0];
+        final int suffixFrom = container.splitOffsets[container.splitCount - 1];
+        final char[] skeleton = new char[prefixLength + length - suffixFrom];
+        System.arraycopy(chars, 0, skeleton, 0, prefixLength);
+        System.arraycopy(chars, suffixFrom, skeleton, prefixLength, length - suffixFrom);
+
+        final SkeletonBuilder builder = new SkeletonBuilder(container, segments);
+        final HTMLParser parser = new HTMLParser(new CharArrayReader(skeleton));
+        parser.setMaxDepth(maxDepth);
+        try {
+            parser.parseTo(builder);
+        } catch (ParseException e) {
+            return null;
+        } finally {
+            segments.forEach(segment -> segment.cancel(false));
+        }
+        return builder.isInserted ? builder.getRoot() : null;
+    }
+
+    private List<HTMLElement> parseSegment(int from, int to, int segmentMaxDepth) {
+        final HTMLTreeBuilder builder = HTMLTreeBuilder.fragment();
+        final HTMLParser parser = new HTMLParser(new CharArrayReader(chars, from, to - from));
+        parser.setMaxDepth(segmentMaxDepth);
+        try {
+            parser.parseTo(builder);
+        } catch (ParseException e) {
+            return null;
+        }
+        return builder.getRoot().getChildren();
+    }
+
+    private static class Container {
+        private final String tag;
+        private final int depth;
+        private int[] splitOffsets = new int[4];
+        private int[] splitEndCounts = new int[4];
+        private int splitCount;
+
+        Container(String tag, int depth) {
+            this.tag = tag;
+            this.depth = depth;
+        }
+
+        void addChildEnd(int offset, int endCount, int step) {
+            if (splitCount > 0 && offset - splitOffsets[splitCount - 1] < step) {
+                return;
+            }
+            if (splitCount == splitOffsets.length) {
+                splitOffsets = Arrays.copyOf(splitOffsets, splitCount * 2);
+                splitEndCounts = Arrays.copyOf(splitEndCounts, splitCount * 2);
+            }
+            splitOffsets[splitCount] = offset;
+            splitEndCounts[splitCount] = endCount;
+            ++splitCount;
+        }
+    }
+
+    private class Scanner {
+        private final HTMLTokenizer tokenizer = new HTMLTokenizer();
+        private int position;
+
+        Scanner() {
+            tokenizer.setSkipping(true);
+        }
+
+        HTMLToken next() throws ParseException {
+            while (!tokenizer.hasToken()) {
+                if (position < length) {
+                    position = tokenizer.tokenize(chars, position, length);
+                } else if (tokenizer.isFinished()) {
+                    return null;
+                } else {
+                    tokenizer.finish();
+                }
+            }
+            return tokenizer.takeToken();
+        }
+    }
+
+    private static class SkeletonBuilder extends HTMLTreeBuilder {
+        private final Container container;
+        private final List<ForkJoinTask<List<HTMLElement>>> segments;
+        private int endCount;
+        private boolean isInserted;
+
+        SkeletonBuilder(Container container, List<ForkJoinTask<List<HTMLElement>>> segments) {
+            this.container = container;
+            this.segments = segments;
+        }
+
+        @Override
+        public void endElement(String tag) {
+            super.endElement(tag);
+            if (++endCount != container.splitEndCounts[0]) {
+                return;
+            }
+
+            final HTMLElement parent = currentElement();
+            if (!container.tag.equals(parent.getTag())) {
+                return;
+            }
+            for (ForkJoinTask<List<HTMLElement>> segment : segments) {
+                final List<HTMLElement> children = segment.join();
+                if (children == null) {
+                    return;
+                }
+                children.forEach(parent::addChild);
+            }
+            isInserted = true;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.holeyko.parser.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.holeyko.parser.Parse")
+@Label("HTML Parse")
+@Category("HTML Parser")
+@Description("Parse of an HTML document")
+@StackTrace(false)
+class ParseEvent extends jdk.jfr.Event {
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Chars")
+    long chars;
+
+    @Label("Elements")
+    long elements;
+
+    @Label("Attributes")
+    long attributes;
+
+    @Label("Text Nodes")
+    long texts;
+
+    @Label("Comments")
+    long comments;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    @Label("Window Fills")
+    long windowFills;
+
+    @Label("Peak Window Size")
+    int peakWindowSize;
+
+    @Label("Succeeded")
+    boolean isSuccess;
+}
@@ -0,0 +1,108 @@
+package com.holeyko.parser.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class StringMatcher {
+    public static final int NO_MATCH = -1;
+    public static final int PARTIAL_MATCH = -2;
+
+    private static final int DISPATCH_SIZE = 128;
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final List<String> strings;
+    private final char[][] patterns;
+    private final boolean sensitive;
+    private final int[][] candidates = new int[DISPATCH_SIZE][];
+    private final int[] otherCandidates;
+
+    private StringMatcher(List<String> strings, boolean sensitive) {
+        this.strings = List.copyOf(strings);
+        this.sensitive = sensitive;
+        patterns = new char[strings.size()][];
+        for (int i = 0; i < patterns.length; ++i) {
+            patterns[i] = strings.get(i).toCharArray();
+            if (!sensitive) {
+                for (int j = 0; j < patterns[i].length; ++j) {
+                    patterns[i][j] = Character.toLowerCase(patterns[i][j]);
+                }
+            }
+        }
+
+        for (char c = 0; c < DISPATCH_SIZE; ++c) {
+            candidates[c] = collectCandidates(c);
+        }
+        otherCandidates = collectCandidates(DISPATCH_SIZE);
+    }
+
+    public static StringMatcher of(String... strings) {
+        return new StringMatcher(List.of(strings), true);
+    }
+
+    public static StringMatcher ignoreCase(String... strings) {
+        return new StringMatcher(List.of(strings), false);
+    }
+
+    public int matchPrefix(CharSequence s) {
+        if (s.isEmpty()) {
+            final int empty = matchEmpty();
+            return empty != NO_MATCH || patterns.length == 0 ? empty : PARTIAL_MATCH;
+        }
+
+        boolean isPrefix = false;
+        for (int candidate : candidatesOf(s.charAt(0))) {
+            final char[] pattern = patterns[candidate];
+            if (pattern.length < s.length()) {
+                continue;
+            }
+
+            int i = 0;
+            while (i < s.length() && fold(s.charAt(i)) == pattern[i]) {
+                ++i;
+            }
+            if (i == s.length()) {
+                if (i == pattern.length) {
+                    return candidate;
+                }
+                isPrefix = true;
+            }
+        }
+
+        return isPrefix ? PARTIAL_MATCH : NO_MATCH;
+    }
+
+    @Override
+    public String toString() {
+        return strings.toString();
+    }
+
+    private int matchEmpty() {
+        for (int i = 0; i < patterns.length; ++i) {
+            if (patterns[i].length == 0) {
+                return i;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private int[] candidatesOf(char c) {
+        final char folded = fold(c);
+        return folded < DISPATCH_SIZE ? candidates[folded] : otherCandidates;
+    }
+
+    private char fold(char c) {
+        return sensitive ? c : Character.toLowerCase(c);
+    }
+
+    private int[] collectCandidates(int first) {
+        final List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < patterns.length; ++i) {
+            final char[] pattern = patterns[i];
+            if (pattern.length == 0 || pattern[0] == first || first == DISPATCH_SIZE && pattern[0] >= DISPATCH_SIZE) {
+                result.add(i);
+            }
+        }
+
+        return result.isEmpty() ? NO_CANDIDATES : result.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
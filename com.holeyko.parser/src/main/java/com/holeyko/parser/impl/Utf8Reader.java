@@ -0,0 +1,180 @@
+package com.holeyko.parser.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+class Utf8Reader extends Reader {
+    private static final int BYTE_BUFFER_SIZE = 16 * 1024;
+    private static final char REPLACEMENT = '\uFFFD';
+
+    private InputStream input;
+    private final byte[] bytes = new byte[BYTE_BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private char pendingChar;
+    private boolean hasPendingChar = false;
+
+    Utf8Reader(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * The previous input isn't closed.
+     */
+    void reset(InputStream input) {
+        this.input = input;
+        position = 0;
+        limit = 0;
+        hasPendingChar = false;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        int count = 0;
+        if (hasPendingChar) {
+            chars[offset] = pendingChar;
+            hasPendingChar = false;
+            ++count;
+        }
+
+        while (count < length) {
+            count += decode(chars, offset + count, offset + length);
+            if (count == length || count > 0 && input.available() <= 0) {
+                break;
+            }
+            if (!fill()) {
+                if (position < limit) {
+                    chars[offset + count++] = REPLACEMENT;
+                    position = limit;
+                }
+                break;
+            }
+        }
+
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private boolean fill() throws IOException {
+        final int remaining = limit - position;
+        System.arraycopy(bytes, position, bytes, 0, remaining);
+        position = 0;
+        limit = remaining;
+
+        final int read = input.read(bytes, limit, bytes.length - limit);
+        if (read == -1) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private int decode(char[] chars, int from, int to) {
+        final byte[] bytes = this.bytes;
+        final int limit = this.limit;
+        int i = position;
+        int j = from;
+
+        while (j < to && i < limit) {
+            if (bytes[i] >= 0) {
+                final int max = Math.min(limit - i, to - j);
+                int k = 0;
+                while (k < max && bytes[i + k] >= 0) {
+                    chars[j + k] = (char) bytes[i + k];
+                    ++k;
+                }
+                i += k;
+                j += k;
+                continue;
+            }
+
+            final int first = bytes[i] & 0xFF;
+            final int needed = sequenceLength(first) - 1;
+            if (needed < 0) {
+                chars[j++] = REPLACEMENT;
+                ++i;
+                continue;
+            }
+
+            final int available = Math.min(needed, limit - i - 1);
+            final int malformed = malformedLength(bytes, i, needed, available);
+            if (malformed > 0) {
+                chars[j++] = REPLACEMENT;
+                i += malformed;
+                continue;
+            }
+            if (available < needed) {
+                break;
+            }
+
+            int codePoint = first & (0x3F >> needed);
+            for (int k = 1; k <= needed; ++k) {
+                codePoint = (codePoint << 6) | (bytes[i + k] & 0x3F);
+            }
+            i += needed + 1;
+            if (Character.isBmpCodePoint(codePoint)) {
+                chars[j++] = (char) codePoint;
+            } else {
+                chars[j++] = Character.highSurrogate(codePoint);
+                if (j < to) {
+                    chars[j++] = Character.lowSurrogate(codePoint);
+                } else {
+                    pendingChar = Character.lowSurrogate(codePoint);
+                    hasPendingChar = true;
+                }
+            }
+        }
+
+        position = i;
+        return j - from;
+    }
+
+    private static int sequenceLength(int first) {
+        if (first >= 0xC2 && first <= 0xDF) {
+            return 2;
+        } else if (first >= 0xE0 && first <= 0xEF) {
+            return 3;
+        } else if (first >= 0xF0 && first <= 0xF4) {
+            return 4;
+        }
+        return 0;
+    }
+
+    private static int malformedLength(byte[] bytes, int i, int needed, int available) {
+        if (available == 0) {
+            return 0;
+        }
+
+        final int first = bytes[i] & 0xFF;
+        final int second = bytes[i + 1] & 0xFF;
+        if (!isContinuation(second)
+                || first == 0xE0 && second < 0xA0
+                || first == 0xF0 && second < 0x90
+                || first == 0xF4 && second > 0x8F) {
+            return 1;
+        }
+        if (available >= 2 && !isContinuation(bytes[i + 2] & 0xFF)) {
+            return 2;
+        }
+        if (needed == 2 && available == 2 && first == 0xED && second >= 0xA0) {
+            return 3;
+        }
+        if (needed == 3 && available == 3 && !isContinuation(bytes[i + 3] & 0xFF)) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private static boolean isContinuation(int b) {
+        return (b & 0xC0) == 0x80;
+    }
+}
@@ -0,0 +1,234 @@
+package com.holeyko.parser.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+public final class Attributes extends AbstractMap<String, String> {
+    private static final int MAX_FLAT_SIZE = 8;
+    private static final int INITIAL_CAPACITY = 2;
+    private static final String[] NO_PAIRS = new String[0];
+    private static final Attributes EMPTY = new Attributes(false);
+
+    private final boolean isMutable;
+    private String[] pairs = NO_PAIRS;
+    private int size = 0;
+    private Map<String, String> map;
+
+    public Attributes() {
+        this(true);
+    }
+
+    public Attributes(Map<String, String> attributes) {
+        this(true);
+        attributes.forEach(this::put);
+    }
+
+    private Attributes(boolean isMutable) {
+        this.isMutable = isMutable;
+    }
+
+    public static Attributes empty() {
+        return EMPTY;
+    }
+
+    public boolean isMutable() {
+        return isMutable;
+    }
+
+    @Override
+    public int size() {
+        return map != null ? map.size() : size;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return map != null ? map.containsKey(name) : indexOf(name) >= 0;
+    }
+
+    @Override
+    public String get(Object name) {
+        if (map != null) {
+            return map.get(name);
+        }
+
+        final int index = indexOf(name);
+        return index >= 0 ? pairs[index + 1] : null;
+    }
+
+    @Override
+    public String put(String name, String value) {
+        checkMutable();
+        if (map != null) {
+            return map.put(name, value);
+        }
+
+        final int index = indexOf(name);
+        if (index >= 0) {
+            final String previous = pairs[index + 1];
+            pairs[index + 1] = value;
+            return previous;
+        }
+
+        if (size == MAX_FLAT_SIZE) {
+            inflate();
+            return map.put(name, value);
+        }
+        if (2 * size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, Math.max(2 * INITIAL_CAPACITY, 2 * pairs.length));
+        }
+        pairs[2 * size] = name;
+        pairs[2 * size + 1] = value;
+        ++size;
+        return null;
+    }
+
+    @Override
+    public String remove(Object name) {
+        checkMutable();
+        if (map != null) {
+            return map.remove(name);
+        }
+
+        final int index = indexOf(name);
+        if (index < 0) {
+            return null;
+        }
+        final String previous = pairs[index + 1];
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        map = null;
+        pairs = NO_PAIRS;
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return map != null ? map.entrySet() : new EntrySet();
+    }
+
+    private int indexOf(Object name) {
+        for (int i = 0; i < 2 * size; i += 2) {
+            if (Objects.equals(pairs[i], name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(pairs, index + 2, pairs, index, 2 * size - index - 2);
+        --size;
+        pairs[2 * size] = null;
+        pairs[2 * size + 1] = null;
+    }
+
+    private void inflate() {
+        map = new LinkedHashMap<>();
+        for (int i = 0; i < 2 * size; i += 2) {
+            map.put(pairs[i], pairs[i + 1]);
+        }
+        pairs = NO_PAIRS;
+        size = 0;
+    }
+
+    private void checkMutable() {
+        if (!isMutable) {
+            throw new UnsupportedOperationException("Attributes are immutable");
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, String>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+            return new Iterator<>() {
+                private int next = 0;
+                private int last = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return next < 2 * size;
+                }
+
+                @Override
+                public Entry<String, String> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next;
+                    next += 2;
+                    return new PairEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    checkMutable();
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                }
+            };
+        }
+    }
+
+    private class PairEntry implements Entry<String, String> {
+        private final int index;
+
+        PairEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return pairs[index];
+        }
+
+        @Override
+        public String getValue() {
+            return pairs[index + 1];
+        }
+
+        @Override
+        public String setValue(String value) {
+            checkMutable();
+            final String previous = pairs[index + 1];
+            pairs[index + 1] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> entry
+                    && Objects.equals(getKey(), entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.holeyko.parser.model;
+
+import java.util.Objects;
+
+public final class CharSlice implements CharSequence {
+    private final char[] chars;
+    private final int offset;
+    private final int length;
+
+    CharSlice(char[] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return chars[offset + index];
+    }
+
+    @Override
+    public CharSlice subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return new CharSlice(chars, offset + start, end - start);
+    }
+
+    public boolean contentEquals(CharSequence s) {
+        if (s.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (chars[offset + i] != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, offset, length);
+    }
+}
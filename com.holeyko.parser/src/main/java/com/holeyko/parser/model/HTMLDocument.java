@@ -0,0 +1,376 @@
+package com.holeyko.parser.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public final class HTMLDocument {
+    static final int NONE = -1;
+    private static final byte ELEMENT = 0;
+    private static final byte TEXT = 1;
+    private static final byte SINGLE = 1;
+    private static final byte VOID = 1 << 1;
+
+    private final int size;
+    private final int root;
+    private final byte[] kinds;
+    private final byte[] flags;
+    private final int[] names;
+    private final int[] parents;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] attributeNames;
+    private final int[] attributeValueOffsets;
+    private final int[] attributeValueLengths;
+    private final String[] strings;
+    private final char[] chars;
+
+    private HTMLDocument(HTMLDocumentBuilder builder) {
+        size = builder.size;
+        root = builder.root;
+        kinds = Arrays.copyOf(builder.kinds, size);
+        flags = Arrays.copyOf(builder.flags, size);
+        names = Arrays.copyOf(builder.names, size);
+        parents = Arrays.copyOf(builder.parents, size);
+        firstChildren = Arrays.copyOf(builder.firstChildren, size);
+        nextSiblings = Arrays.copyOf(builder.nextSiblings, size);
+        offsets = Arrays.copyOf(builder.offsets, size);
+        lengths = Arrays.copyOf(builder.lengths, size);
+        attributeNames = Arrays.copyOf(builder.attributeNames, builder.attributeCount);
+        attributeValueOffsets = Arrays.copyOf(builder.attributeValueOffsets, builder.attributeCount);
+        attributeValueLengths = Arrays.copyOf(builder.attributeValueLengths, builder.attributeCount);
+        strings = new String[builder.strings.size()];
+        for (var string : builder.strings.entrySet()) {
+            strings[string.getValue()] = string.getKey();
+        }
+        chars = Arrays.copyOf(builder.chars, builder.charCount);
+    }
+
+    public HTMLNode getRoot() {
+        return node(root);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public HTMLNode node(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException(id);
+        }
+        return new HTMLNode(this, id);
+    }
+
+    public HTMLElement toElement() {
+        final HTMLElement[] elements = new HTMLElement[size];
+        for (int id = root; id < size; ++id) {
+            if (id != root && (parents[id] == NONE || elements[parents[id]] == null)) {
+                continue;
+            }
+
+            final HTMLElement element = new HTMLElement();
+            if (isText(id)) {
+                element.setValue(getValue(id));
+            } else {
+                element.setTag(getTag(id));
+                element.setAttributes(getAttributes(id));
+                element.setSingle(isSingle(id));
+                element.setVoid(isVoid(id));
+            }
+            if (id != root) {
+                elements[parents[id]].addChild(element);
+            }
+            elements[id] = element;
+        }
+
+        return elements[root];
+    }
+
+    public static HTMLDocument of(HTMLElement root) {
+        final HTMLDocumentBuilder builder = builder();
+        final Deque<Iterator<HTMLElement>> children = new ArrayDeque<>();
+        add(builder, root, children);
+        while (!children.isEmpty()) {
+            if (children.peek().hasNext()) {
+                add(builder, children.peek().next(), children);
+            } else {
+                children.pop();
+                builder.endElement();
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static void add(HTMLDocumentBuilder builder, HTMLElement element, Deque<Iterator<HTMLElement>> children) {
+        if (element.getValue() != null) {
+            builder.text(element.getValue());
+        } else {
+            builder.startElement(element.getTag(), element.attributes(), element.isSingle(), element.isVoid());
+            children.push(element.getChildren().iterator());
+        }
+    }
+
+    public static HTMLDocumentBuilder builder() {
+        return new HTMLDocumentBuilder();
+    }
+
+    boolean isText(int id) {
+        return kinds[id] == TEXT;
+    }
+
+    String getTag(int id) {
+        return isText(id) ? null : strings[names[id]];
+    }
+
+    CharSlice getText(int id) {
+        return isText(id) ? new CharSlice(chars, offsets[id], lengths[id]) : null;
+    }
+
+    String getValue(int id) {
+        return isText(id) ? new String(chars, offsets[id], lengths[id]) : null;
+    }
+
+    boolean isSingle(int id) {
+        return (flags[id] & SINGLE) != 0;
+    }
+
+    boolean isVoid(int id) {
+        return (flags[id] & VOID) != 0;
+    }
+
+    int getParent(int id) {
+        return id == root ? NONE : parents[id];
+    }
+
+    int getFirstChild(int id) {
+        return firstChildren[id];
+    }
+
+    int getNextSibling(int id) {
+        return id == root ? NONE : nextSiblings[id];
+    }
+
+    int findAttribute(int id, String name) {
+        if (isText(id)) {
+            return NONE;
+        }
+        for (int i = offsets[id]; i < offsets[id] + lengths[id]; ++i) {
+            if (strings[attributeNames[i]].equals(name)) {
+                return i;
+            }
+        }
+        return NONE;
+    }
+
+    CharSlice getAttributeText(int attribute) {
+        final int length = attributeValueLengths[attribute];
+        return length == NONE ? null : new CharSlice(chars, attributeValueOffsets[attribute], length);
+    }
+
+    String getAttributeValue(int attribute) {
+        final int length = attributeValueLengths[attribute];
+        return length == NONE ? null : new String(chars, attributeValueOffsets[attribute], length);
+    }
+
+    Attributes getAttributes(int id) {
+        if (isText(id) || lengths[id] == 0) {
+            return Attributes.empty();
+        }
+
+        final Attributes result = new Attributes();
+        for (int i = offsets[id]; i < offsets[id] + lengths[id]; ++i) {
+            result.put(strings[attributeNames[i]], getAttributeValue(i));
+        }
+        return result;
+    }
+
+    public static class HTMLDocumentBuilder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private int size = 0;
+        private int root = 0;
+        private byte[] kinds = new byte[INITIAL_CAPACITY];
+        private byte[] flags = new byte[INITIAL_CAPACITY];
+        private int[] names = new int[INITIAL_CAPACITY];
+        private int[] parents = new int[INITIAL_CAPACITY];
+        private int[] firstChildren = new int[INITIAL_CAPACITY];
+        private int[] nextSiblings = new int[INITIAL_CAPACITY];
+        private int[] lastChildren = new int[INITIAL_CAPACITY];
+        private int[] offsets = new int[INITIAL_CAPACITY];
+        private int[] lengths = new int[INITIAL_CAPACITY];
+        private int attributeCount = 0;
+        private int[] attributeNames = new int[INITIAL_CAPACITY];
+        private int[] attributeValueOffsets = new int[INITIAL_CAPACITY];
+        private int[] attributeValueLengths = new int[INITIAL_CAPACITY];
+        private final Map<String, Integer> strings = new HashMap<>();
+        private int charCount = 0;
+        private char[] chars = new char[INITIAL_CAPACITY * 8];
+        private int current = NONE;
+        private int textStart = NONE;
+
+        public int startElement(String tag, Map<String, String> attributes, boolean isSingle, boolean isVoid) {
+            final int id = addNode(ELEMENT);
+            flags[id] = (byte) ((isSingle ? SINGLE : 0) | (isVoid ? VOID : 0));
+            names[id] = intern(tag);
+            offsets[id] = attributeCount;
+            lengths[id] = attributes.size();
+            for (var attribute : attributes.entrySet()) {
+                addAttribute(attribute.getKey(), attribute.getValue());
+            }
+            current = id;
+            return id;
+        }
+
+        public void endElement() {
+            if (current == NONE) {
+                throw new IllegalStateException("No open element");
+            }
+            current = parents[current];
+        }
+
+        public int text(CharSequence value) {
+            final int id = addNode(TEXT);
+            names[id] = NONE;
+            offsets[id] = charCount;
+            lengths[id] = value.length();
+            appendChars(value);
+            return id;
+        }
+
+        public void appendText(CharSequence value) {
+            if (textStart == NONE) {
+                textStart = charCount;
+            }
+            appendChars(value);
+        }
+
+        public void appendText(char[] value, int from, int to) {
+            if (textStart == NONE) {
+                textStart = charCount;
+            }
+            ensureCapacity(to - from);
+            System.arraycopy(value, from, chars, charCount, to - from);
+            charCount += to - from;
+        }
+
+        public int endText() {
+            if (textStart == NONE) {
+                return NONE;
+            }
+
+            final int start = textStart;
+            int from = start;
+            int to = charCount;
+            textStart = NONE;
+            while (from < to && chars[from] <= ' ') {
+                ++from;
+            }
+            while (to > from && chars[to - 1] <= ' ') {
+                --to;
+            }
+            boolean isBlank = true;
+            for (int i = from; i < to && isBlank; ++i) {
+                isBlank = Character.isWhitespace(chars[i]);
+            }
+            if (isBlank) {
+                charCount = start;
+                return NONE;
+            }
+
+            System.arraycopy(chars, from, chars, start, to - from);
+            charCount = start + to - from;
+            final int id = addNode(TEXT);
+            names[id] = NONE;
+            offsets[id] = start;
+            lengths[id] = to - from;
+            return id;
+        }
+
+        public HTMLDocumentBuilder root(int id) {
+            if (id < 0 || id >= size) {
+                throw new IndexOutOfBoundsException(id);
+            }
+            root = id;
+            return this;
+        }
+
+        public HTMLDocument build() {
+            if (size == 0) {
+                throw new IllegalStateException("Document is empty");
+            }
+            return new HTMLDocument(this);
+        }
+
+        private int addNode(byte kind) {
+            if (size == kinds.length) {
+                final int capacity = size * 2;
+                kinds = Arrays.copyOf(kinds, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+                names = Arrays.copyOf(names, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                lastChildren = Arrays.copyOf(lastChildren, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+
+            final int id = size++;
+            kinds[id] = kind;
+            flags[id] = 0;
+            parents[id] = current;
+            firstChildren[id] = NONE;
+            nextSiblings[id] = NONE;
+            lastChildren[id] = NONE;
+            if (current != NONE) {
+                if (lastChildren[current] == NONE) {
+                    firstChildren[current] = id;
+                } else {
+                    nextSiblings[lastChildren[current]] = id;
+                }
+                lastChildren[current] = id;
+            }
+            return id;
+        }
+
+        private void addAttribute(String name, String value) {
+            if (attributeCount == attributeNames.length) {
+                final int capacity = attributeCount * 2;
+                attributeNames = Arrays.copyOf(attributeNames, capacity);
+                attributeValueOffsets = Arrays.copyOf(attributeValueOffsets, capacity);
+                attributeValueLengths = Arrays.copyOf(attributeValueLengths, capacity);
+            }
+
+            final int attribute = attributeCount++;
+            attributeNames[attribute] = intern(name);
+            attributeValueOffsets[attribute] = charCount;
+            attributeValueLengths[attribute] = value == null ? NONE : value.length();
+            if (value != null) {
+                appendChars(value);
+            }
+        }
+
+        private int intern(String string) {
+            return strings.computeIfAbsent(string, key -> strings.size());
+        }
+
+        private void appendChars(CharSequence value) {
+            ensureCapacity(value.length());
+            for (int i = 0; i < value.length(); ++i) {
+                chars[charCount++] = value.charAt(i);
+            }
+        }
+
+        private void ensureCapacity(int count) {
+            if (charCount + count > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + count));
+            }
+        }
+    }
+}
@@ -5,32 +5,42 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
-@EqualsAndHashCode
+@EqualsAndHashCode(doNotUseGetters = true)
 public class HTMLElement {
     private String tag;
     private String value;
-    private Map<String, String> attributes = new HashMap<>();
+    private Attributes attributes = Attributes.empty();
     private List<HTMLElement> children = new ArrayList<>();
     private boolean isSingle = false;
     private boolean isVoid = false;
+    @EqualsAndHashCode.Exclude
+    private int sourceOffset = -1;
+    @EqualsAndHashCode.Exclude
+    private int sourceLength = -1;
+
+    public Map<String, String> getAttributes() {
+        return mutableAttributes();
+    }
+
+    public void setAttributes(Map<String, String> attributes) {
+        this.attributes = attributes instanceof Attributes flat ? flat : new Attributes(attributes);
+    }
 
     public String getAttribute(String name) {
         return attributes.get(name);
     }
 
     public void addAttribute(String name, String value) {
-        attributes.put(name, value);
+        mutableAttributes().put(name, value);
     }
 
     public void addAttributeWithoutArgs(String name) {
-        attributes.put(name, null);
+        mutableAttributes().put(name, null);
     }
 
     public boolean containsAttribute(String name) {
@@ -41,50 +51,51 @@ public class HTMLElement {
         children.add(child);
     }
 
-    @Override
-    public String toString() {
-        if (value != null) {
-            return value;
-        }
+    /**
+     * @throws IllegalArgumentException if the query isn't a supported selector
+     */
+    public List<HTMLElement> select(String query) {
+        return Selector.compile(query).select(this);
+    }
 
-        String tagInfo = "tag: %s | isSingle: %s | isVoid: %s | attributes: %s"
-                .formatted(tag, isSingle, isVoid, attributes);
-        StringBuilder result = new StringBuilder("\n");
-        children.forEach(child -> result.append(child).append('\n'));
-        result.deleteCharAt(result.length() - 1);
+    /**
+     * @throws IllegalArgumentException if the query isn't a supported selector
+     */
+    public HTMLElement selectFirst(String query) {
+        return Selector.compile(query).selectFirst(this);
+    }
 
-        return tagInfo + result.toString().lines().map(line -> '\t' + line)
-                .collect(Collectors.joining("\n"));
+    public HTMLElement withChildren(List<HTMLElement> children) {
+        final HTMLElement result = new HTMLElement();
+        result.tag = tag;
+        result.value = value;
+        result.attributes = attributes.isMutable() ? new Attributes(attributes) : attributes;
+        result.children = new ArrayList<>(children);
+        result.isSingle = isSingle;
+        result.isVoid = isVoid;
+        result.sourceOffset = sourceOffset;
+        result.sourceLength = sourceLength;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return new HTMLSerializer(HTMLSerializer.Format.TREE).serialize(this);
     }
 
     public String toHTML() {
-        if (value != null) {
-            return value;
-        }
+        return new HTMLSerializer(HTMLSerializer.Format.HTML).serialize(this);
+    }
 
-        StringBuilder result = new StringBuilder();
-        result.append("<").append(tag).append(" ");
-        for (var attr : attributes.entrySet()) {
-            result.append(attr.getKey()).append("=\"")
-                    .append(attr.getValue()).append("\"").append(" ");
-        }
-        result.deleteCharAt(result.length() - 1);
-
-        if (isSingle) {
-            result.append("/>");
-        } else if (isVoid) {
-            result.append(">");
-        } else {
-            result.append(">");
-            StringBuilder childrenHTML = new StringBuilder("\n");
-            children.forEach((child -> childrenHTML.append(child.toHTML()).append("\n")));
-            childrenHTML.deleteCharAt(childrenHTML.length() - 1);
-            result.append(childrenHTML.toString().lines()
-                    .map(line -> '\t' + line).collect(Collectors.joining("\n"))
-            ).append("\n").append("</").append(tag).append(">");
-        }
+    Attributes attributes() {
+        return attributes;
+    }
 
-        return result.toString();
+    private Attributes mutableAttributes() {
+        if (!attributes.isMutable()) {
+            attributes = new Attributes();
+        }
+        return attributes;
     }
 
     public static HTMLElementBuilder builder() {
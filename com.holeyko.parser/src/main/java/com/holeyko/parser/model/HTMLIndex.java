@@ -0,0 +1,125 @@
+package com.holeyko.parser.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public final class HTMLIndex {
+    private final HTMLElement root;
+    private final Map<String, HTMLElement> ids;
+    private final Map<String, List<HTMLElement>> classes;
+    private final Map<String, List<HTMLElement>> tags;
+
+    private HTMLIndex(HTMLElement root, HTMLIndexBuilder builder) {
+        this.root = root;
+        ids = Map.copyOf(builder.ids);
+        classes = copyOf(builder.classes);
+        tags = copyOf(builder.tags);
+    }
+
+    public HTMLElement getRoot() {
+        return root;
+    }
+
+    public HTMLElement getElementById(String id) {
+        return ids.get(id);
+    }
+
+    public List<HTMLElement> getElementsByClassName(String name) {
+        return classes.getOrDefault(name, List.of());
+    }
+
+    public List<HTMLElement> getElementsByTagName(String tag) {
+        final List<HTMLElement> result = tags.get(tag);
+        return result != null ? result : tags.getOrDefault(tag.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    public static HTMLIndex of(HTMLElement root) {
+        final HTMLIndexBuilder builder = builder();
+        final Deque<Iterator<HTMLElement>> children = new ArrayDeque<>();
+        if (root.getValue() == null) {
+            builder.add(root);
+            children.push(root.getChildren().iterator());
+        }
+        while (!children.isEmpty()) {
+            if (!children.peek().hasNext()) {
+                children.pop();
+                continue;
+            }
+
+            final HTMLElement child = children.peek().next();
+            if (child.getValue() == null) {
+                builder.add(child);
+                children.push(child.getChildren().iterator());
+            }
+        }
+
+        return builder.build(root);
+    }
+
+    private static Map<String, List<HTMLElement>> copyOf(Map<String, List<HTMLElement>> elements) {
+        final Map<String, List<HTMLElement>> result = new HashMap<>();
+        elements.forEach((key, value) -> result.put(key, List.copyOf(value)));
+        return result;
+    }
+
+    public static HTMLIndexBuilder builder() {
+        return new HTMLIndexBuilder();
+    }
+
+    public static class HTMLIndexBuilder {
+        private final Map<String, HTMLElement> ids = new HashMap<>();
+        private final Map<String, List<HTMLElement>> classes = new HashMap<>();
+        private final Map<String, List<HTMLElement>> tags = new HashMap<>();
+
+        public void add(HTMLElement element) {
+            if (element.getTag() != null) {
+                tags.computeIfAbsent(element.getTag(), key -> new ArrayList<>()).add(element);
+            }
+
+            final Attributes attributes = element.attributes();
+            if (attributes.isEmpty()) {
+                return;
+            }
+            final String id = attributes.get("id");
+            if (id != null) {
+                ids.putIfAbsent(id, element);
+            }
+            final String names = attributes.get("class");
+            if (names != null) {
+                addClasses(element, names);
+            }
+        }
+
+        public HTMLIndex build(HTMLElement root) {
+            return new HTMLIndex(root, this);
+        }
+
+        private void addClasses(HTMLElement element, String names) {
+            int from = 0;
+            while (from < names.length()) {
+                while (from < names.length() && Character.isWhitespace(names.charAt(from))) {
+                    ++from;
+                }
+                int to = from;
+                while (to < names.length() && !Character.isWhitespace(names.charAt(to))) {
+                    ++to;
+                }
+                if (to > from) {
+                    final List<HTMLElement> elements = classes.computeIfAbsent(
+                            names.substring(from, to), key -> new ArrayList<>()
+                    );
+                    if (elements.isEmpty() || elements.get(elements.size() - 1) != element) {
+                        elements.add(element);
+                    }
+                }
+                from = to;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.holeyko.parser.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public record HTMLNode(HTMLDocument document, int id) {
+    public boolean isText() {
+        return document.isText(id);
+    }
+
+    public String getTag() {
+        return document.getTag(id);
+    }
+
+    public String getValue() {
+        return document.getValue(id);
+    }
+
+    public CharSlice getText() {
+        return document.getText(id);
+    }
+
+    public boolean isSingle() {
+        return document.isSingle(id);
+    }
+
+    public boolean isVoid() {
+        return document.isVoid(id);
+    }
+
+    public String getAttribute(String name) {
+        final int attribute = document.findAttribute(id, name);
+        return attribute == HTMLDocument.NONE ? null : document.getAttributeValue(attribute);
+    }
+
+    public CharSlice getAttributeText(String name) {
+        final int attribute = document.findAttribute(id, name);
+        return attribute == HTMLDocument.NONE ? null : document.getAttributeText(attribute);
+    }
+
+    public boolean containsAttribute(String name) {
+        return document.findAttribute(id, name) != HTMLDocument.NONE;
+    }
+
+    public Map<String, String> getAttributes() {
+        return document.getAttributes(id);
+    }
+
+    public HTMLNode getParent() {
+        return view(document.getParent(id));
+    }
+
+    public HTMLNode getFirstChild() {
+        return view(document.getFirstChild(id));
+    }
+
+    public HTMLNode getNextSibling() {
+        return view(document.getNextSibling(id));
+    }
+
+    public List<HTMLNode> getChildren() {
+        final List<HTMLNode> result = new ArrayList<>();
+        for (int child = document.getFirstChild(id); child != HTMLDocument.NONE; child = document.getNextSibling(child)) {
+            result.add(new HTMLNode(document, child));
+        }
+        return result;
+    }
+
+    private HTMLNode view(int id) {
+        return id == HTMLDocument.NONE ? null : new HTMLNode(document, id);
+    }
+}
@@ -0,0 +1,192 @@
+package com.holeyko.parser.model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+
+public final class HTMLSerializer {
+    public enum Format {
+        HTML, COMPACT_HTML, TREE
+    }
+
+    private static final String TREE_LINE = "tag: %s | isSingle: %s | isVoid: %s | attributes: %s";
+
+    private final Format format;
+
+    public HTMLSerializer(Format format) {
+        this.format = format;
+    }
+
+    public String serialize(HTMLElement root) {
+        final StringBuilder result = new StringBuilder();
+        try {
+            serialize(root, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * {@code output} stays open.
+     */
+    public void serialize(HTMLElement root, OutputStream output, Charset charset) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(output, charset));
+        serialize(root, writer);
+        writer.flush();
+    }
+
+    public void serialize(HTMLElement root, Appendable output) throws IOException {
+        new Walk(output).run(root);
+    }
+
+    private class Walk {
+        private final Appendable output;
+        private HTMLElement[] elements = new HTMLElement[32];
+        private int[] nextChildren = new int[32];
+        private int depth = 0;
+        private boolean isFirstLine = true;
+
+        Walk(Appendable output) {
+            this.output = output;
+        }
+
+        void run(HTMLElement root) throws IOException {
+            if (root.getValue() != null) {
+                output.append(root.getValue());
+                return;
+            }
+
+            open(root);
+            while (depth > 0) {
+                final HTMLElement element = elements[depth - 1];
+                final int next = nextChildren[depth - 1]++;
+                if (next < element.getChildren().size()) {
+                    final HTMLElement child = element.getChildren().get(next);
+                    if (child.getValue() != null) {
+                        text(child.getValue());
+                    } else {
+                        open(child);
+                    }
+                } else {
+                    --depth;
+                    close(element);
+                }
+            }
+        }
+
+        private void open(HTMLElement element) throws IOException {
+            if (format == Format.TREE) {
+                lineStart();
+                output.append(TREE_LINE.formatted(
+                        element.getTag(), element.isSingle(), element.isVoid(), element.attributes()
+                ));
+                if (!element.getChildren().isEmpty()) {
+                    output.append('\t');
+                }
+                push(element);
+                return;
+            }
+
+            lineStart();
+            output.append('<').append(element.getTag());
+            for (Map.Entry<String, String> attribute : element.attributes().entrySet()) {
+                output.append(' ').append(attribute.getKey());
+                if (format == Format.HTML || attribute.getValue() != null) {
+                    output.append("=\"");
+                    attributeValue(attribute.getValue());
+                    output.append('"');
+                }
+            }
+
+            if (element.isSingle()) {
+                output.append("/>");
+            } else if (element.isVoid()) {
+                output.append('>');
+            } else {
+                output.append('>');
+                if (format == Format.HTML && !element.getChildren().isEmpty()) {
+                    output.append('\t');
+                }
+                push(element);
+            }
+        }
+
+        private void close(HTMLElement element) throws IOException {
+            if (format == Format.TREE) {
+                return;
+            }
+
+            lineStart();
+            output.append("</").append(element.getTag()).append('>');
+        }
+
+        private void text(String value) throws IOException {
+            if (format == Format.COMPACT_HTML) {
+                output.append(value);
+                return;
+            }
+
+            lineStart();
+            int start = 0;
+            for (int i = 0; i < value.length(); ++i) {
+                final char c = value.charAt(i);
+                if (c == '\n' || c == '\r') {
+                    output.append(value, start, i);
+                    if (c == '\r' && i + 1 < value.length() && value.charAt(i + 1) == '\n') {
+                        ++i;
+                    }
+                    start = i + 1;
+                    if (start < value.length()) {
+                        lineStart();
+                    }
+                }
+            }
+            output.append(value, start, value.length());
+        }
+
+        private void attributeValue(String value) throws IOException {
+            if (value == null) {
+                output.append("null");
+                return;
+            }
+
+            int start = 0;
+            for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', start)) {
+                output.append(value, start, i).append("&quot;");
+                start = i + 1;
+            }
+            output.append(value, start, value.length());
+        }
+
+        private void push(HTMLElement element) {
+            if (depth == elements.length) {
+                elements = Arrays.copyOf(elements, depth * 2);
+                nextChildren = Arrays.copyOf(nextChildren, depth * 2);
+            }
+            elements[depth] = element;
+            nextChildren[depth] = 0;
+            ++depth;
+        }
+
+        private void lineStart() throws IOException {
+            if (format == Format.COMPACT_HTML) {
+                return;
+            }
+
+            if (!isFirstLine) {
+                output.append('\n');
+            }
+            isFirstLine = false;
+            for (int i = 0; i < depth; ++i) {
+                output.append('\t');
+            }
+        }
+    }
+}
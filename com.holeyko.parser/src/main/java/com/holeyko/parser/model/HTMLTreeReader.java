@@ -0,0 +1,233 @@
+package com.holeyko.parser.model;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A file damaged past the header and the string table is reported with an {@link UncheckedIOException} when the
+ * damaged subtree is visited.
+ */
+public final class HTMLTreeReader {
+    private final ByteBuffer buffer;
+    private final String[] strings;
+    private int position;
+
+    private HTMLTreeReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        try {
+            final byte[] magic = new byte[HTMLTreeWriter.MAGIC.length];
+            buffer.get(0, magic);
+            if (!Arrays.equals(magic, HTMLTreeWriter.MAGIC)) {
+                throw new StreamCorruptedException("Not an HTML tree");
+            }
+            final int version = (buffer.get(4) & 0xFF) << 8 | buffer.get(5) & 0xFF;
+            if (version != HTMLTreeWriter.VERSION) {
+                throw new IOException(String.format(
+                        "Unsupported version %d of an HTML tree, expected %d", version, HTMLTreeWriter.VERSION
+                ));
+            }
+
+            position = magic.length + 2;
+            final int stringCount = varint();
+            if (stringCount > buffer.limit() - position) {
+                throw new StreamCorruptedException(String.format("String table of %d strings is truncated", stringCount));
+            }
+            strings = new String[stringCount];
+            for (int i = 0; i < strings.length; ++i) {
+                strings[i] = string(varint());
+            }
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new StreamCorruptedException("HTML tree is truncated");
+        }
+    }
+
+    /**
+     * The mapping lives as long as any element of the tree.
+     */
+    public static HTMLElement read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(String.format("HTML tree of %d bytes is too large", channel.size()));
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static HTMLElement read(byte[] bytes) throws IOException {
+        return read(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * The buffer itself isn't changed.
+     */
+    public static HTMLElement read(ByteBuffer buffer) throws IOException {
+        try {
+            return new HTMLTreeReader(buffer.slice()).decodeRoot();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private synchronized HTMLElement decodeRoot() {
+        try {
+            return node();
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw corrupted("HTML tree is truncated");
+        }
+    }
+
+    private synchronized List<HTMLElement> decodeChildren(int from, int count) {
+        try {
+            position = from;
+            final List<HTMLElement> children = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                children.add(node());
+            }
+            return children;
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw corrupted("HTML tree is truncated");
+        }
+    }
+
+    private HTMLElement node() {
+        final HTMLElement element = new HTMLElement();
+        final int kind = varint();
+        if (kind == HTMLTreeWriter.TEXT) {
+            element.setValue(string(varint()));
+            return element;
+        }
+        if ((kind & HTMLTreeWriter.ELEMENT) == 0) {
+            throw corrupted(String.format("Unknown node kind %d at %d position", kind, position));
+        }
+
+        element.setSingle((kind & HTMLTreeWriter.SINGLE) != 0);
+        element.setVoid((kind & HTMLTreeWriter.VOID) != 0);
+        final int tag = varint();
+        element.setTag(tag == 0 ? null : name(tag - 1));
+        final int attributeCount = varint();
+        if (attributeCount > 0) {
+            final Attributes attributes = new Attributes();
+            for (int i = 0; i < attributeCount; ++i) {
+                final String name = name(varint());
+                final int length = varint();
+                attributes.put(name, length == 0 ? null : string(length - 1));
+            }
+            element.setAttributes(attributes);
+        }
+
+        final int childCount = varint();
+        final int childrenLength = buffer.getInt(position);
+        position += Integer.BYTES;
+        if (childrenLength < childCount || childrenLength > buffer.limit() - position) {
+            throw corrupted(String.format("Children of %d bytes overflow the tree at %d position", childrenLength, position));
+        }
+        if (childCount > 0) {
+            element.setChildren(new LazyChildren(position, childCount));
+        }
+        position += childrenLength;
+        return element;
+    }
+
+    private String name(int index) {
+        if (index < 0 || index >= strings.length) {
+            throw corrupted(String.format("Unknown string %d at %d position", index, position));
+        }
+        return strings[index];
+    }
+
+    private String string(int length) {
+        final String result;
+        if (buffer.hasArray()) {
+            if (length < 0 || length > buffer.limit() - position) {
+                throw new IndexOutOfBoundsException(position);
+            }
+            result = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            result = new String(bytes, StandardCharsets.UTF_8);
+        }
+        position += length;
+        return result;
+    }
+
+    private int varint() {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte b = buffer.get(position++);
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw corrupted(String.format("Malformed number at %d position", position));
+    }
+
+    private static UncheckedIOException corrupted(String message) {
+        return new UncheckedIOException(new StreamCorruptedException(message));
+    }
+
+    private class LazyChildren extends AbstractList<HTMLElement> {
+        private final int from;
+        private final int count;
+        private volatile List<HTMLElement> children;
+
+        LazyChildren(int from, int count) {
+            this.from = from;
+            this.count = count;
+        }
+
+        @Override
+        public int size() {
+            final List<HTMLElement> decoded = children;
+            return decoded == null ? count : decoded.size();
+        }
+
+        @Override
+        public HTMLElement get(int index) {
+            return children().get(index);
+        }
+
+        @Override
+        public HTMLElement set(int index, HTMLElement element) {
+            return children().set(index, element);
+        }
+
+        @Override
+        public void add(int index, HTMLElement element) {
+            children().add(index, element);
+            ++modCount;
+        }
+
+        @Override
+        public HTMLElement remove(int index) {
+            final HTMLElement result = children().remove(index);
+            ++modCount;
+            return result;
+        }
+
+        private List<HTMLElement> children() {
+            List<HTMLElement> result = children;
+            if (result == null) {
+                synchronized (HTMLTreeReader.this) {
+                    result = children;
+                    if (result == null) {
+                        result = decodeChildren(from, count);
+                        children = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.holeyko.parser.model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public final class HTMLTreeWriter {
+    static final byte[] MAGIC = {'H', 'T', 'M', 'T'};
+    static final int VERSION = 1;
+    static final int TEXT = 0;
+    static final int ELEMENT = 1;
+    static final int SINGLE = 1 << 1;
+    static final int VOID = 1 << 2;
+
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> stringList = new ArrayList<>();
+    private final Buffer body = new Buffer();
+
+    private HTMLTreeWriter() {
+    }
+
+    public static byte[] toBytes(HTMLElement root) {
+        final HTMLTreeWriter writer = new HTMLTreeWriter();
+        writer.encode(root);
+        final Buffer result = writer.header();
+        result.bytes(writer.body.bytes, writer.body.size);
+        return result.toArray();
+    }
+
+    /**
+     * {@code output} stays open.
+     */
+    public static void write(HTMLElement root, OutputStream output) throws IOException {
+        final HTMLTreeWriter writer = new HTMLTreeWriter();
+        writer.encode(root);
+        writer.header().writeTo(output);
+        writer.body.writeTo(output);
+    }
+
+    public static void write(HTMLElement root, Path path) throws IOException {
+        try (OutputStream output = Files.newOutputStream(path)) {
+            write(root, output);
+        }
+    }
+
+    private void encode(HTMLElement root) {
+        final Deque<Iterator<HTMLElement>> children = new ArrayDeque<>();
+        final Deque<Integer> childrenLengths = new ArrayDeque<>();
+        node(root, children, childrenLengths);
+        while (!children.isEmpty()) {
+            if (children.peek().hasNext()) {
+                node(children.peek().next(), children, childrenLengths);
+            } else {
+                children.pop();
+                final int position = childrenLengths.pop();
+                body.setInt(position, body.size - position - Integer.BYTES);
+            }
+        }
+    }
+
+    private Buffer header() {
+        final Buffer result = new Buffer();
+        result.bytes(MAGIC);
+        result.bytes(new byte[]{(byte) (VERSION >>> 8), (byte) VERSION});
+        result.varint(stringList.size());
+        for (String string : stringList) {
+            result.string(string);
+        }
+        return result;
+    }
+
+    private void node(HTMLElement element, Deque<Iterator<HTMLElement>> children, Deque<Integer> childrenLengths) {
+        if (element.getValue() != null) {
+            body.varint(TEXT);
+            body.string(element.getValue());
+            return;
+        }
+
+        body.varint(ELEMENT | (element.isSingle() ? SINGLE : 0) | (element.isVoid() ? VOID : 0));
+        body.varint(element.getTag() == null ? 0 : intern(element.getTag()) + 1);
+        final Attributes attributes = element.attributes();
+        body.varint(attributes.size());
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            body.varint(intern(attribute.getKey()));
+            if (attribute.getValue() == null) {
+                body.varint(0);
+            } else {
+                final byte[] value = attribute.getValue().getBytes(StandardCharsets.UTF_8);
+                body.varint(value.length + 1);
+                body.bytes(value);
+            }
+        }
+        body.varint(element.getChildren().size());
+        childrenLengths.push(body.size);
+        body.setInt(body.size, 0);
+        children.push(element.getChildren().iterator());
+    }
+
+    private int intern(String string) {
+        return strings.computeIfAbsent(string, key -> {
+            stringList.add(key);
+            return stringList.size() - 1;
+        });
+    }
+
+    private static class Buffer {
+        private byte[] bytes = new byte[1024];
+        private int size = 0;
+
+        void varint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) (value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void string(String string) {
+            final byte[] value = string.getBytes(StandardCharsets.UTF_8);
+            varint(value.length);
+            bytes(value);
+        }
+
+        void bytes(byte[] value) {
+            bytes(value, value.length);
+        }
+
+        void bytes(byte[] value, int length) {
+            ensureCapacity(length);
+            System.arraycopy(value, 0, bytes, size, length);
+            size += length;
+        }
+
+        void setInt(int position, int value) {
+            if (position == size) {
+                ensureCapacity(Integer.BYTES);
+                size += Integer.BYTES;
+            }
+            bytes[position] = (byte) (value >>> 24);
+            bytes[position + 1] = (byte) (value >>> 16);
+            bytes[position + 2] = (byte) (value >>> 8);
+            bytes[position + 3] = (byte) value;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        void writeTo(OutputStream output) throws IOException {
+            output.write(bytes, 0, size);
+        }
+
+        private void ensureCapacity(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.holeyko.parser.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selectors are immutable and thread-safe.
+ */
+public final class Selector {
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final Map<String, Selector> CACHE = new ConcurrentHashMap<>();
+
+    private final String query;
+    private final Chain[] chains;
+
+    Selector(String query, Chain[] chains) {
+        this.query = query;
+        this.chains = chains;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the query isn't a supported selector
+     */
+    public static Selector compile(String query) {
+        final Selector cached = CACHE.get(query);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Selector selector = new SelectorParser(query).parse();
+        if (CACHE.size() >= MAX_CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(query, selector);
+        return selector;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public List<HTMLElement> select(HTMLElement root) {
+        final List<HTMLElement> result = new ArrayList<>();
+        new Walk(root).run(result, false);
+        return result;
+    }
+
+    public HTMLElement selectFirst(HTMLElement root) {
+        final List<HTMLElement> result = new ArrayList<>(1);
+        new Walk(root).run(result, true);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    public boolean matches(HTMLElement[] path, int[] positions, int depth) {
+        for (Chain chain : chains) {
+            if (chain.matches(path, positions, depth - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return query;
+    }
+
+    record Chain(Compound[] compounds, boolean[] isChild) {
+        boolean matches(HTMLElement[] path, int[] positions, int level) {
+            return matches(compounds.length - 1, path, positions, level);
+        }
+
+        private boolean matches(int part, HTMLElement[] path, int[] positions, int level) {
+            if (!compounds[part].matches(path[level], positions[level])) {
+                return false;
+            }
+            if (part == 0) {
+                return true;
+            }
+            if (isChild[part]) {
+                return level > 0 && matches(part - 1, path, positions, level - 1);
+            }
+            for (int ancestor = level - 1; ancestor >= 0; --ancestor) {
+                if (matches(part - 1, path, positions, ancestor)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record Compound(String tag, String id, String[] classes, String[] attributeNames, String[] attributeValues,
+                    int nthStep, int nthOffset) {
+        boolean matches(HTMLElement element, int position) {
+            if (tag != null && !tag.equals(element.getTag())) {
+                return false;
+            }
+            if (id != null && !id.equals(element.getAttribute("id"))) {
+                return false;
+            }
+            if (classes.length > 0) {
+                final String value = element.getAttribute("class");
+                for (String name : classes) {
+                    if (!containsClass(value, name)) {
+                        return false;
+                    }
+                }
+            }
+            for (int i = 0; i < attributeNames.length; ++i) {
+                if (attributeValues[i] == null
+                        ? !element.containsAttribute(attributeNames[i])
+                        : !attributeValues[i].equals(element.getAttribute(attributeNames[i]))) {
+                    return false;
+                }
+            }
+            return isNth(position);
+        }
+
+        private boolean isNth(int position) {
+            if (nthStep == 0) {
+                return position == nthOffset;
+            }
+            final int difference = position - nthOffset;
+            return difference / nthStep >= 0 && difference % nthStep == 0;
+        }
+
+        private static boolean containsClass(String value, String name) {
+            if (value == null) {
+                return false;
+            }
+            int from = value.indexOf(name);
+            while (from >= 0) {
+                final int to = from + name.length();
+                if ((from == 0 || Character.isWhitespace(value.charAt(from - 1)))
+                        && (to == value.length() || Character.isWhitespace(value.charAt(to)))) {
+                    return true;
+                }
+                from = value.indexOf(name, from + 1);
+            }
+            return false;
+        }
+    }
+
+    private class Walk {
+        private HTMLElement[] path = new HTMLElement[32];
+        private int[] positions = new int[32];
+        private int[] nextChildren = new int[32];
+        private int[] elementCounts = new int[32];
+        private int depth = 0;
+        private final HTMLElement root;
+
+        Walk(HTMLElement root) {
+            this.root = root;
+        }
+
+        void run(List<HTMLElement> result, boolean isFirstOnly) {
+            if (root.getValue() != null) {
+                return;
+            }
+
+            push(root, 1);
+            if (visit(result) && isFirstOnly) {
+                return;
+            }
+            while (depth > 0) {
+                final int top = depth - 1;
+                final List<HTMLElement> children = path[top].getChildren();
+                if (nextChildren[top] == children.size()) {
+                    --depth;
+                    continue;
+                }
+
+                final HTMLElement child = children.get(nextChildren[top]++);
+                if (child.getValue() == null) {
+                    push(child, ++elementCounts[top]);
+                    if (visit(result) && isFirstOnly) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private boolean visit(List<HTMLElement> result) {
+            if (matches(path, positions, depth)) {
+                result.add(path[depth - 1]);
+                return true;
+            }
+            return false;
+        }
+
+        private void push(HTMLElement element, int position) {
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+                nextChildren = Arrays.copyOf(nextChildren, depth * 2);
+                elementCounts = Arrays.copyOf(elementCounts, depth * 2);
+            }
+            path[depth] = element;
+            positions[depth] = position;
+            nextChildren[depth] = 0;
+            elementCounts[depth] = 0;
+            ++depth;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.holeyko.parser.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class SelectorParser {
+    private static final String[] NO_STRINGS = new String[0];
+
+    private final String query;
+    private int position = 0;
+
+    SelectorParser(String query) {
+        this.query = query;
+    }
+
+    Selector parse() {
+        final List<Selector.Chain> chains = new ArrayList<>();
+        skipWhitespace();
+        chains.add(chain());
+        while (position < query.length()) {
+            expect(',');
+            skipWhitespace();
+            chains.add(chain());
+        }
+        return new Selector(query, chains.toArray(Selector.Chain[]::new));
+    }
+
+    private Selector.Chain chain() {
+        final List<Selector.Compound> compounds = new ArrayList<>();
+        final List<Boolean> isChild = new ArrayList<>();
+        compounds.add(compound());
+        isChild.add(false);
+        while (true) {
+            final boolean hasWhitespace = skipWhitespace();
+            if (position == query.length() || peek() == ',') {
+                break;
+            }
+            if (peek() == '>') {
+                ++position;
+                skipWhitespace();
+                isChild.add(true);
+            } else if (hasWhitespace) {
+                isChild.add(false);
+            } else {
+                throw unexpected();
+            }
+            compounds.add(compound());
+        }
+
+        final boolean[] flags = new boolean[isChild.size()];
+        for (int i = 0; i < flags.length; ++i) {
+            flags[i] = isChild.get(i);
+        }
+        return new Selector.Chain(compounds.toArray(Selector.Compound[]::new), flags);
+    }
+
+    private Selector.Compound compound() {
+        final int start = position;
+        String tag = null;
+        String id = null;
+        final List<String> classes = new ArrayList<>();
+        final List<String> attributeNames = new ArrayList<>();
+        final List<String> attributeValues = new ArrayList<>();
+        int nthStep = 1;
+        int nthOffset = 1;
+
+        if (peek() == '*') {
+            ++position;
+        } else if (isNameChar(peek())) {
+            tag = name().toLowerCase(Locale.ROOT);
+        }
+        while (position < query.length()) {
+            final char c = peek();
+            if (c == '#') {
+                ++position;
+                id = name();
+            } else if (c == '.') {
+                ++position;
+                classes.add(name());
+            } else if (c == '[') {
+                ++position;
+                skipWhitespace();
+                attributeNames.add(name());
+                skipWhitespace();
+                String value = null;
+                if (peek() == '=') {
+                    ++position;
+                    skipWhitespace();
+                    value = value();
+                    skipWhitespace();
+                }
+                expect(']');
+                attributeValues.add(value);
+            } else if (c == ':') {
+                ++position;
+                final String pseudo = name();
+                if ("first-child".equals(pseudo)) {
+                    nthStep = 0;
+                    nthOffset = 1;
+                } else if ("nth-child".equals(pseudo)) {
+                    expect('(');
+                    final int[] nth = nth();
+                    nthStep = nth[0];
+                    nthOffset = nth[1];
+                } else {
+                    throw new IllegalArgumentException(String.format(
+                            "Unsupported pseudo-class :%s in selector: %s", pseudo, query
+                    ));
+                }
+            } else {
+                break;
+            }
+        }
+
+        if (position == start) {
+            throw unexpected();
+        }
+        return new Selector.Compound(
+                tag, id, classes.toArray(NO_STRINGS), attributeNames.toArray(NO_STRINGS),
+                attributeValues.toArray(NO_STRINGS), nthStep, nthOffset
+        );
+    }
+
+    private int[] nth() {
+        final int end = query.indexOf(')', position);
+        if (end < 0) {
+            throw incomplete();
+        }
+        final String expression = query.substring(position, end).replace(" ", "").toLowerCase(Locale.ROOT);
+        position = end + 1;
+
+        try {
+            if ("odd".equals(expression)) {
+                return new int[]{2, 1};
+            }
+            if ("even".equals(expression)) {
+                return new int[]{2, 0};
+            }
+            final int n = expression.indexOf('n');
+            if (n < 0) {
+                return new int[]{0, Integer.parseInt(expression)};
+            }
+            final String step = expression.substring(0, n);
+            final String offset = expression.substring(n + 1);
+            return new int[]{
+                    switch (step) {
+                        case "", "+" -> 1;
+                        case "-" -> -1;
+                        default -> Integer.parseInt(step);
+                    },
+                    offset.isEmpty() ? 0 : Integer.parseInt(offset.startsWith("+") ? offset.substring(1) : offset)
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid :nth-child(%s) in selector: %s", expression, query
+            ), e);
+        }
+    }
+
+    private String value() {
+        final char quote = peek();
+        if (quote != '"' && quote != '\'') {
+            return name();
+        }
+
+        final int end = query.indexOf(quote, position + 1);
+        if (end < 0) {
+            throw incomplete();
+        }
+        final String result = query.substring(position + 1, end);
+        position = end + 1;
+        return result;
+    }
+
+    private String name() {
+        final int start = position;
+        while (position < query.length() && isNameChar(query.charAt(position))) {
+            ++position;
+        }
+        if (position == start) {
+            throw unexpected();
+        }
+        return query.substring(start, position);
+    }
+
+    private boolean skipWhitespace() {
+        final int start = position;
+        while (position < query.length() && Character.isWhitespace(query.charAt(position))) {
+            ++position;
+        }
+        return position > start;
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw unexpected();
+        }
+        ++position;
+    }
+
+    private char peek() {
+        return position < query.length() ? query.charAt(position) : '\0';
+    }
+
+    private IllegalArgumentException unexpected() {
+        if (position == query.length()) {
+            return incomplete();
+        }
+        return new IllegalArgumentException(String.format(
+                "Unexpected '%c' at %d position in selector: %s", query.charAt(position), position, query
+        ));
+    }
+
+    private IllegalArgumentException incomplete() {
+        return new IllegalArgumentException("Selector is incomplete: " + query);
+    }
+
+    private static boolean isNameChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+                || c == '-' || c == '_' || c > 0x7F;
+    }
+}
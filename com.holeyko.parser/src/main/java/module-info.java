@@ -1,5 +1,6 @@
 module com.holeyko.parser {
     requires transitive lombok;
+    requires jdk.jfr;
 
     exports com.holeyko.parser;
     exports com.holeyko.parser.impl;
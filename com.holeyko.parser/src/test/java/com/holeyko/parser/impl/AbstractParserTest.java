@@ -0,0 +1,55 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+class AbstractParserTest {
+    @Test
+    @DisplayName("Chars are read in order across the window end")
+    void testWrapAround() throws ParseException {
+        final String text = "0123456789abcdef".repeat(2000);
+        final CharParser parser = new CharParser(text);
+        final StringBuilder result = new StringBuilder();
+        while (parser.canRead()) {
+            Assertions.assertTrue(parser.checkString(text.substring(result.length(), Math.min(text.length(), result.length() + 40))));
+            result.append(parser.next());
+        }
+
+        Assertions.assertEquals(text, result.toString());
+        Assertions.assertTrue(parser.getPeakWindowSize() <= parser.getWindowCapacity());
+    }
+
+    @Test
+    @DisplayName("Window of HTMLParser doesn't grow with the document")
+    void testBoundedWindow() throws Exception {
+        final byte[] html = ("<html><body>" + "<p class=\"text\">Some text</p>\n".repeat(50_000) + "</body></html>")
+                .getBytes(StandardCharsets.UTF_8);
+        try (HTMLParser parser = new HTMLParser(new ByteArrayInputStream(html))) {
+            parser.parse();
+            Assertions.assertTrue(parser.getPeakWindowSize() > 0);
+            Assertions.assertTrue(parser.getPeakWindowSize() <= parser.getWindowCapacity());
+            Assertions.assertTrue(parser.getWindowCapacity() < html.length);
+        }
+    }
+
+    private static class CharParser extends AbstractParser<Void> {
+        CharParser(String text) {
+            super(stream(text));
+        }
+
+        private static InputStream stream(String text) {
+            return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Void parse() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+class CharsetSnifferTest {
+    private static final Charset WINDOWS_1251 = Charset.forName("windows-1251");
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+
+    @Test
+    @DisplayName("Charset is the one of the BOM or meta")
+    void testDetect() {
+        final Map<String, Charset> cases = Map.of(
+                "<meta charset=\"windows-1251\">", WINDOWS_1251,
+                "<head><META Charset=KOI8-R >", Charset.forName("KOI8-R"),
+                "<meta http-equiv=\"Content-Type\" content=\"text/html; charset='windows-1251'\">", WINDOWS_1251,
+                "<meta content=\"text/html;charset=iso-8859-1\" http-equiv=content-type>", WINDOWS_1252,
+                "<meta charset=\"utf-16\">", StandardCharsets.UTF_8,
+                "<!-- <meta charset=koi8-r> --><title a='<meta charset=koi8-r>'></title><meta charset=windows-1251>",
+                WINDOWS_1251
+        );
+        for (Map.Entry<String, Charset> entry : cases.entrySet()) {
+            final byte[] bytes = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertEquals(entry.getValue(), CharsetSniffer.detect(bytes, 0, bytes.length), entry.getKey());
+        }
+
+        for (String html : new String[]{
+                "<meta content=\"text/html; charset=koi8-r\">",
+                "<meta charset=\"unknown\">",
+                "<p>no meta</p>",
+                "<meta charset=koi8-r",
+                " ".repeat(CharsetSniffer.PRESCAN_LENGTH) + "<meta charset=koi8-r>"
+        }) {
+            final byte[] bytes = html.getBytes(StandardCharsets.US_ASCII);
+            Assertions.assertNull(CharsetSniffer.detect(bytes, 0, bytes.length), html);
+        }
+
+        final byte[] bom = {(byte) 0xFF, (byte) 0xFE, '<', 0};
+        Assertions.assertEquals(StandardCharsets.UTF_16LE, CharsetSniffer.detect(bom, 0, bom.length));
+    }
+
+    @Test
+    @DisplayName("Detecting parser decodes in the detected charset")
+    void testParser() throws IOException, ParseException {
+        final String text = "Привет, мир";
+        final String html = "<html><head><meta charset=\"windows-1251\"></head><body><p>" + text + "</p></body></html>";
+        try (var parser = HTMLParser.detectingCharset(new ByteArrayInputStream(html.getBytes(WINDOWS_1251)))) {
+            Assertions.assertEquals(WINDOWS_1251, parser.getCharset());
+            Assertions.assertEquals(text, parser.parse().selectFirst("p").getChildren().get(0).getValue());
+        }
+
+        final byte[] body = "<p>𝄞 ✓</p>".getBytes(StandardCharsets.UTF_16BE);
+        final byte[] bytes = new byte[body.length + 2];
+        bytes[0] = (byte) 0xFE;
+        bytes[1] = (byte) 0xFF;
+        System.arraycopy(body, 0, bytes, 2, body.length);
+        try (var parser = HTMLParser.detectingCharset(new ByteArrayInputStream(bytes), WINDOWS_1251)) {
+            Assertions.assertEquals(StandardCharsets.UTF_16BE, parser.getCharset());
+            final HTMLElement p = parser.parse().getChildren().get(0);
+            Assertions.assertEquals("p", p.getTag());
+            Assertions.assertEquals("𝄞 ✓", p.getChildren().get(0).getValue());
+        }
+
+        try (var parser = HTMLParser.detectingCharset(HTMLFixtures.stream("<p>plain</p>"))) {
+            Assertions.assertEquals(StandardCharsets.UTF_8, parser.getCharset());
+            Assertions.assertEquals("plain", parser.parse().getChildren().get(0).getChildren().get(0).getValue());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class HTMLBatchParserTest {
+    @Test
+    @DisplayName("Errors are captured per document")
+    void testFiles(@TempDir Path dir) throws IOException {
+        final List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < 50; ++i) {
+            final Path path = dir.resolve(i + ".html");
+            Files.writeString(path, i == 7 ? "<p>broken</div>" : "<p>page " + i + "</p>");
+            paths.add(path);
+        }
+        paths.add(dir.resolve("missing.html"));
+
+        final HTMLBatchParser batchParser = new HTMLBatchParser();
+        batchParser.setOrdered(true);
+        try (var results = batchParser.parseFiles(paths)) {
+            final List<HTMLBatchParser.Result<Path>> list = results.toList();
+            Assertions.assertEquals(paths.size(), list.size());
+            for (int i = 0; i < list.size(); ++i) {
+                final HTMLBatchParser.Result<Path> result = list.get(i);
+                Assertions.assertEquals(i, result.index());
+                Assertions.assertSame(paths.get(i), result.source());
+                if (i == 7) {
+                    Assertions.assertInstanceOf(ParseException.class, result.error());
+                } else if (i == 50) {
+                    Assertions.assertInstanceOf(NoSuchFileException.class, result.error());
+                } else {
+                    Assertions.assertTrue(result.isSuccess());
+                    Assertions.assertEquals("page " + i, result.root().getChildren().get(0).getChildren().get(0).getValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrency is bounded")
+    void testConcurrency() {
+        final AtomicInteger open = new AtomicInteger();
+        final AtomicInteger maxOpen = new AtomicInteger();
+        final List<Integer> sources = IntStream.range(0, 500).boxed().toList();
+
+        final HTMLBatchParser batchParser = new HTMLBatchParser();
+        batchParser.setConcurrency(8);
+        try (Stream<HTMLBatchParser.Result<Integer>> results = batchParser.parse(sources, source -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            final InputStream html = new ByteArrayInputStream(("<div>" + source + "</div>").getBytes(StandardCharsets.UTF_8));
+            return new HTMLParser(new FilterInputStream(html) {
+                @Override
+                public void close() throws IOException {
+                    open.decrementAndGet();
+                    super.close();
+                }
+            });
+        })) {
+            final int[] indexes = results
+                    .peek(result -> Assertions.assertTrue(result.isSuccess()))
+                    .mapToInt(HTMLBatchParser.Result::index)
+                    .sorted()
+                    .toArray();
+            Assertions.assertArrayEquals(IntStream.range(0, sources.size()).toArray(), indexes);
+        }
+        Assertions.assertTrue(maxOpen.get() <= 8, "Parsed at once: " + maxOpen.get());
+    }
+
+    @Test
+    @DisplayName("Documents are parsed when results are counted and errors don't stall the batch")
+    void testCountAndErrors() {
+        final AtomicInteger opened = new AtomicInteger();
+        final HTMLBatchParser batchParser = new HTMLBatchParser();
+        final long count = batchParser.parse(List.of(0, 1, 2), source -> {
+            opened.incrementAndGet();
+            return HTMLFixtures.parser("<p></p>");
+        }).count();
+        Assertions.assertEquals(3, count);
+        Assertions.assertEquals(3, opened.get());
+
+        batchParser.setOrdered(false);
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            final Iterator<HTMLBatchParser.Result<Integer>> results = batchParser.parse(List.of(0, 1, 2), source -> {
+                if (source == 0) {
+                    throw new AssertionError("broken");
+                }
+                return HTMLFixtures.parser("<p></p>");
+            }).iterator();
+            int errors = 0;
+            int parsed = 0;
+            while (true) {
+                try {
+                    if (!results.hasNext()) {
+                        break;
+                    }
+                    Assertions.assertTrue(results.next().isSuccess());
+                    ++parsed;
+                } catch (AssertionError e) {
+                    Assertions.assertEquals("broken", e.getMessage());
+                    ++errors;
+                }
+            }
+            Assertions.assertEquals(1, errors);
+            Assertions.assertEquals(2, parsed);
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.CharSlice;
+import com.holeyko.parser.model.HTMLDocument;
+import com.holeyko.parser.model.HTMLElement;
+import com.holeyko.parser.model.HTMLNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class HTMLDocumentTest {
+    private static final String PATH_TO_RESOURCES = "src/test/resources/correct";
+
+    @Test
+    @DisplayName("Document converts to the same tree parse() returns")
+    void testSameTree() throws IOException, ParseException {
+        for (String file : List.of("blank.html", "no-html-tag.html", "with-comments.html", "simple.html", "medium.html")) {
+            final Path path = Path.of(PATH_TO_RESOURCES, file);
+            final HTMLElement expected;
+            try (var parser = new HTMLParser(path)) {
+                expected = parser.parse();
+            }
+            try (var parser = new HTMLParser(path)) {
+                final HTMLDocument document = parser.parseDocument();
+                Assertions.assertEquals(expected, document.toElement(), "File: %s".formatted(file));
+                Assertions.assertEquals(expected, HTMLDocument.of(expected).toElement(), "File: %s".formatted(file));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Navigation over nodes")
+    void testNavigation() throws IOException, ParseException {
+        final String html = "<div id=\"a\" hidden><p>first</p>\n  text <!-- c -->\n<br></div><span></span>";
+        final HTMLDocument document;
+        try (var parser = HTMLFixtures.parser(html)) {
+            document = parser.parseDocument();
+        }
+
+        final HTMLNode root = document.getRoot();
+        Assertions.assertEquals("html", root.getTag());
+        Assertions.assertNull(root.getParent());
+        Assertions.assertNull(root.getNextSibling());
+
+        final HTMLNode div = root.getFirstChild();
+        Assertions.assertEquals("div", div.getTag());
+        Assertions.assertEquals("a", div.getAttribute("id"));
+        Assertions.assertTrue(div.containsAttribute("hidden"));
+        Assertions.assertNull(div.getAttribute("hidden"));
+        Assertions.assertFalse(div.containsAttribute("class"));
+        Assertions.assertEquals(root, div.getParent());
+        Assertions.assertEquals("span", div.getNextSibling().getTag());
+        Assertions.assertNull(div.getNextSibling().getNextSibling());
+
+        final CharSlice id = div.getAttributeText("id");
+        Assertions.assertTrue(id.contentEquals("a"));
+        Assertions.assertNull(div.getAttributeText("hidden"));
+
+        final List<HTMLNode> children = div.getChildren();
+        Assertions.assertEquals(3, children.size());
+        Assertions.assertEquals("first", children.get(0).getFirstChild().getValue());
+        Assertions.assertTrue(children.get(1).isText());
+        Assertions.assertEquals("text", children.get(1).getValue());
+        Assertions.assertEquals("ex", children.get(1).getText().subSequence(1, 3).toString());
+        Assertions.assertNull(div.getText());
+        Assertions.assertTrue(children.get(2).isVoid());
+        Assertions.assertEquals(Map.of(), children.get(2).getAttributes());
+    }
+
+    @Test
+    @DisplayName("Text is taken from the tokenizer across window fills and void tags")
+    void testText() throws IOException, ParseException {
+        final String longText = "0123456789".repeat(2000);
+        final String html = "<p>" + longText + "</p><p>a<br>b<!-- c -->d</p><script>x < y</script>";
+        final HTMLDocument document;
+        try (var parser = HTMLFixtures.parser(html)) {
+            document = parser.parseDocument();
+        }
+
+        final List<HTMLNode> children = document.getRoot().getChildren();
+        Assertions.assertEquals(longText, children.get(0).getFirstChild().getValue());
+        final List<HTMLNode> second = children.get(1).getChildren();
+        Assertions.assertEquals(List.of("a", "br", "bd"), second.stream()
+                .map(node -> node.isText() ? node.getValue() : node.getTag())
+                .toList());
+        Assertions.assertEquals("x < y", children.get(2).getFirstChild().getValue());
+    }
+
+    @Test
+    @DisplayName("Conversion of deep trees")
+    void testDeep() {
+        final HTMLElement root = HTMLElement.builder().tag("html").build();
+        HTMLElement element = root;
+        for (int i = 0; i < 100_000; ++i) {
+            final HTMLElement child = HTMLElement.builder().tag("div").build();
+            element.addChild(child);
+            element = child;
+        }
+
+        HTMLElement converted = HTMLDocument.of(root).toElement();
+        int depth = 0;
+        while (!converted.getChildren().isEmpty()) {
+            converted = converted.getChildren().get(0);
+            ++depth;
+        }
+        Assertions.assertEquals(100_000, depth);
+    }
+}
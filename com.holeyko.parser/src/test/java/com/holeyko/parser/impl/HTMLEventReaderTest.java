@@ -0,0 +1,80 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class HTMLEventReaderTest {
+    private static final String HTML = """
+            <html><head><script>var a = "<b>" + 1;</script><title>Title</title></head>
+            <body><svg><g><path d="M0"/></g><br></svg><p>Text<img src="a.png"></p></body></html>""";
+
+    @Test
+    @DisplayName("Events of HTML")
+    void testEvents() throws IOException, ParseException {
+        try (var reader = new HTMLEventReader(HTMLFixtures.stream(HTML))) {
+            final List<HTMLEvent> events = new ArrayList<>();
+            while (reader.hasNext()) {
+                final HTMLEvent event = reader.next();
+                if (event.type() != HTMLEvent.Type.TEXT || !event.text().isBlank()) {
+                    events.add(event);
+                }
+            }
+
+            Assertions.assertEquals(HTMLEvent.startElement("html", Map.of(), false), events.get(0));
+            Assertions.assertEquals(HTMLEvent.text("var a = \"<b>\" + 1;"), events.get(3));
+            Assertions.assertEquals(HTMLEvent.startElement("path", Map.of("d", "M0"), true), events.get(12));
+            Assertions.assertEquals(HTMLEvent.endElement("path"), events.get(13));
+            Assertions.assertEquals(HTMLEvent.endElement("html"), events.get(events.size() - 1));
+            Assertions.assertEquals(0, reader.getDepth());
+        }
+    }
+
+    @Test
+    @DisplayName("Skip subtrees")
+    void testSkipSubtree() throws IOException, ParseException {
+        try (var reader = new HTMLEventReader(HTMLFixtures.stream(HTML))) {
+            final List<String> visited = new ArrayList<>();
+            while (reader.hasNext()) {
+                final HTMLEvent event = reader.next();
+                if (event.type() == HTMLEvent.Type.START_ELEMENT) {
+                    visited.add(event.tag());
+                    if (event.tag().equals("script") || event.tag().equals("svg") || event.tag().equals("img")) {
+                        reader.skipSubtree();
+                    }
+                } else if (event.type() == HTMLEvent.Type.TEXT && !event.text().isBlank()) {
+                    visited.add(event.text());
+                }
+            }
+
+            Assertions.assertEquals(List.of("html", "head", "script", "title", "Title", "body", "svg", "p", "Text", "img"), visited);
+        }
+    }
+
+    @Test
+    @DisplayName("Stop early")
+    void testStopEarly() throws IOException, ParseException {
+        try (var reader = new HTMLEventReader(HTMLFixtures.stream("<html><head><title>Title</title></head><body><div>"))) {
+            HTMLEvent event;
+            do {
+                event = reader.next();
+            } while (event.type() != HTMLEvent.Type.TEXT);
+            Assertions.assertEquals("Title", event.text());
+        }
+    }
+
+    @Test
+    @DisplayName("Skip subtree must follow START_ELEMENT")
+    void testSkipSubtreeState() throws IOException, ParseException {
+        try (var reader = new HTMLEventReader(HTMLFixtures.stream("text<p></p>"))) {
+            reader.next();
+            Assertions.assertThrows(IllegalStateException.class, reader::skipSubtree);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class HTMLExtractorTest {
+    private static final String HTML = """
+            <html>
+              <body>
+                <div id="content">
+                  <p>intro <a href="/one">one</a> <a name="anchor">no link</a></p>
+                  <table class="results">
+                    <tr><td>1</td><td>first</td></tr>
+                    <tr><td>2</td><td>second <!-- comment --> row</td></tr>
+                  </table>
+                  <table><tr><td>other</td></tr></table>
+                </div>
+                <a href="/outside">outside</a>
+              </body>
+            </html>
+            """;
+
+    @Test
+    @DisplayName("Extracted subtrees are the selected ones")
+    void testSameAsSelect() throws IOException, ParseException {
+        final HTMLElement root;
+        try (var parser = HTMLFixtures.parser(HTML)) {
+            root = parser.parse();
+        }
+
+        for (String query : List.of("table.results > tr", "div#content a[href]", "td:nth-child(2), body > a")) {
+            final List<HTMLElement> extracted = new ArrayList<>();
+            try (var parser = HTMLFixtures.parser(HTML)) {
+                parser.extract(query, extracted::add);
+            }
+            Assertions.assertEquals(root.select(query), extracted, query);
+        }
+    }
+
+    @Test
+    @DisplayName("Fragments are matched under the root the tree wraps them in")
+    void testFragment() throws IOException, ParseException {
+        final Map<String, List<String>> cases = Map.of(
+                "<p>one</p><div><p>two</p></div><p>three</p>", List.of("html > p", "p:nth-child(3)", "html > :nth-child(2)"),
+                "text<html><p>one</p></html>", List.of("html > html", "html > p", "html > html:nth-child(1)"),
+                "<!-- c --><html><p>one</p></html>", List.of("html > html", "html > p", "html > html:nth-child(1)")
+        );
+        for (Map.Entry<String, List<String>> entry : cases.entrySet()) {
+            final HTMLElement root;
+            try (var parser = HTMLFixtures.parser(entry.getKey())) {
+                root = parser.parse();
+            }
+            for (String query : entry.getValue()) {
+                final List<HTMLElement> extracted = new ArrayList<>();
+                try (var parser = HTMLFixtures.parser(entry.getKey())) {
+                    parser.extract(query, extracted::add);
+                }
+                Assertions.assertEquals(root.select(query), extracted, entry.getKey() + " " + query);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Nested matches are parts of the outer one")
+    void testNested() throws IOException, ParseException {
+        final List<HTMLElement> extracted = new ArrayList<>();
+        try (var parser = HTMLFixtures.parser("<div>a<div>b</div></div><div>c</div>")) {
+            parser.extract("div", extracted::add);
+        }
+        Assertions.assertEquals(2, extracted.size());
+        Assertions.assertEquals("b", extracted.get(0).getChildren().get(1).getChildren().get(0).getValue());
+        Assertions.assertEquals("c", extracted.get(1).getChildren().get(0).getValue());
+    }
+
+    @Test
+    @DisplayName("Matches are passed on while the input streams")
+    void testStreaming() throws IOException, ParseException {
+        final int rows = 200_000;
+        final TableStream input = new TableStream(rows);
+        final int[] count = {0};
+        try (var parser = new HTMLParser(input, StandardCharsets.UTF_8)) {
+            parser.extract("table > tr:nth-child(odd)", row -> {
+                Assertions.assertTrue(input.generated - 2 * count[0] < 1000, "Row is passed late");
+                Assertions.assertEquals(String.valueOf(2 * count[0]), row.getChildren().get(0).getChildren().get(0).getValue());
+                ++count[0];
+            });
+        }
+        Assertions.assertEquals(rows / 2, count[0]);
+    }
+
+    private static class TableStream extends InputStream {
+        private final int rows;
+        private int generated = 0;
+        private byte[] chunk = "<html><body><table>".getBytes(StandardCharsets.UTF_8);
+        private int position = 0;
+
+        TableStream(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == chunk.length && !nextChunk()) {
+                return -1;
+            }
+            return chunk[position++];
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (position == chunk.length && !nextChunk()) {
+                return -1;
+            }
+            final int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean nextChunk() {
+            if (generated > rows) {
+                return false;
+            }
+            chunk = (generated == rows
+                    ? "</table></body></html>"
+                    : "<tr><td>" + generated + "</td><td>row of the table</td></tr>\n"
+            ).getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            ++generated;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parsing of HTML held in strings for tests.
+ */
+public final class HTMLFixtures {
+    private HTMLFixtures() {
+    }
+
+    public static InputStream stream(String html) {
+        return stream(html, StandardCharsets.UTF_8);
+    }
+
+    public static InputStream stream(String html, Charset charset) {
+        return new ByteArrayInputStream(html.getBytes(charset));
+    }
+
+    public static HTMLParser parser(String html) {
+        return new HTMLParser(stream(html));
+    }
+
+    public static HTMLElement parse(String html) throws IOException, ParseException {
+        try (var parser = parser(html)) {
+            return parser.parse();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLIncrementalParser.TextEdit;
+import com.holeyko.parser.model.HTMLElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+class HTMLIncrementalParserTest {
+    private static final String HTML = """
+            <!DOCTYPE html>
+            <html>
+              <head><title>Page</title></head>
+              <body>
+                <div id="first"><p>one <b>bold</b> text</p><br></div>
+                <div id="second"><ul><li>a</li><li>b</li></ul></div>
+                <p>tail <!-- note --> text</p>
+              </body>
+            </html>
+            """;
+
+    @Test
+    @DisplayName("Offsets are the ones of the source")
+    void testOffsets() throws ParseException {
+        final HTMLElement root = new HTMLIncrementalParser().parse(HTML);
+        assertOffsets(HTML, root, 0);
+    }
+
+    @Test
+    @DisplayName("Re-parsed tree is the tree of the edited source")
+    void testReparse() throws IOException, ParseException {
+        final HTMLIncrementalParser parser = new HTMLIncrementalParser();
+        final HTMLElement previous = parser.parse(HTML);
+        final List<List<TextEdit>> cases = List.of(
+                List.of(edit("<b>bold</b>", 3, 4, "BOLD")),
+                List.of(edit("<li>b</li>", 5, 0, "<li>c</li>")),
+                List.of(edit("one ", 0, 4, ""), edit("<b>bold</b>", 0, 0, "<i>x</i>")),
+                List.of(edit("id=\"second\"", 4, 6, "changed")),
+                List.of(edit("<title>Page", 7, 4, "New title")),
+                List.of(edit("<p>one", 1, 1, "span"), edit("bold</b> text</p>", 15, 1, "span")),
+                List.of(edit("</ul>", 0, 5, "</ul></div><div>")),
+                List.of(edit("<!-- note -->", 0, 0, "<hr>"))
+        );
+
+        for (List<TextEdit> edits : cases) {
+            final String source = HTMLIncrementalParser.apply(HTML, edits);
+            final HTMLElement reparsed = parser.reparse(HTML, previous, edits);
+            Assertions.assertEquals(HTMLFixtures.parse(source), reparsed, source);
+            assertSameOffsets(parser.parse(source), reparsed);
+        }
+        Assertions.assertEquals(HTMLFixtures.parse(HTML), previous);
+    }
+
+    @Test
+    @DisplayName("Unchanged subtrees are shared")
+    void testShared() throws ParseException {
+        final HTMLIncrementalParser parser = new HTMLIncrementalParser();
+        final HTMLElement previous = parser.parse(HTML);
+        final HTMLElement reparsed = parser.reparse(HTML, previous, List.of(edit("<li>a", 4, 1, "changed")));
+
+        final HTMLElement head = previous.selectFirst("head");
+        Assertions.assertSame(head, reparsed.selectFirst("head"));
+        Assertions.assertSame(previous.selectFirst("#first"), reparsed.selectFirst("#first"));
+        final HTMLElement following = previous.selectFirst("li:nth-child(2)");
+        Assertions.assertNotSame(following, reparsed.selectFirst("li:nth-child(2)"));
+        Assertions.assertSame(following.getChildren().get(0), reparsed.selectFirst("li:nth-child(2)").getChildren().get(0));
+    }
+
+    @Test
+    @DisplayName("Errors are the ones of a full parse")
+    void testErrors() throws ParseException {
+        final HTMLIncrementalParser parser = new HTMLIncrementalParser();
+        final HTMLElement previous = parser.parse(HTML);
+        for (TextEdit edit : List.of(edit("</b>", 0, 4, ""), edit("<li>a", 0, 0, "</ul>"), edit("one", 0, 0, "<!--"))) {
+            final String source = HTMLIncrementalParser.apply(HTML, List.of(edit));
+            final ParseException expected = Assertions.assertThrows(ParseException.class, () -> HTMLFixtures.parse(source));
+            final ParseException actual = Assertions.assertThrows(ParseException.class,
+                    () -> parser.reparse(HTML, previous, List.of(edit)));
+            Assertions.assertEquals(expected.getMessage(), actual.getMessage(), source);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> parser.reparse(HTML, previous, List.of(new TextEdit(5, 5, ""), new TextEdit(7, 0, "x"))));
+    }
+
+    private static TextEdit edit(String anchor, int offset, int removedLength, String insertedText) {
+        final int at = HTML.indexOf(anchor);
+        Assertions.assertTrue(at >= 0, anchor);
+        return new TextEdit(at + offset, removedLength, insertedText);
+    }
+
+    private static void assertOffsets(String source, HTMLElement element, int parentStart) {
+        final int start = parentStart + element.getSourceOffset();
+        final String span = source.substring(start, start + element.getSourceLength());
+        Assertions.assertTrue(span.startsWith("<" + element.getTag()), span);
+        if (!element.isVoid()) {
+            Assertions.assertTrue(span.endsWith("</" + element.getTag() + ">"), span);
+        }
+        for (HTMLElement child : element.getChildren()) {
+            if (child.getValue() == null) {
+                assertOffsets(source, child, start);
+            }
+        }
+    }
+
+    private static void assertSameOffsets(HTMLElement expected, HTMLElement actual) {
+        Assertions.assertEquals(expected.getSourceOffset(), actual.getSourceOffset(), expected.getTag());
+        Assertions.assertEquals(expected.getSourceLength(), actual.getSourceLength(), expected.getTag());
+        for (int i = 0; i < expected.getChildren().size(); ++i) {
+            assertSameOffsets(expected.getChildren().get(i), actual.getChildren().get(i));
+        }
+    }
+}
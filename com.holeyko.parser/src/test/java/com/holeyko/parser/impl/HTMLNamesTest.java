@@ -0,0 +1,37 @@
+package com.holeyko.parser.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HTMLNamesTest {
+    @Test
+    @DisplayName("Known names resolve to canonical instances")
+    void testCanonical() {
+        Assertions.assertSame(HTMLNames.tagName("div"), HTMLNames.tagName(new StringBuilder("DiV")));
+        Assertions.assertEquals("div", HTMLNames.tagName("DIV"));
+        Assertions.assertSame(HTMLNames.attributeName("class"), HTMLNames.attributeName(new StringBuilder("class")));
+        Assertions.assertSame(HTMLNames.attributeName("viewBox"), HTMLNames.attributeName(new StringBuilder("viewBox")));
+    }
+
+    @Test
+    @DisplayName("Unknown names")
+    void testUnknown() {
+        Assertions.assertEquals("my-element", HTMLNames.tagName(new StringBuilder("My-Element")));
+        Assertions.assertEquals("Data-Custom", HTMLNames.attributeName(new StringBuilder("Data-Custom")));
+        Assertions.assertEquals("CLASS", HTMLNames.attributeName(new StringBuilder("CLASS")));
+    }
+
+    @Test
+    @DisplayName("Flags of tags")
+    void testFlags() {
+        Assertions.assertTrue(HTMLNames.isVoidTag("br"));
+        Assertions.assertTrue(HTMLNames.isVoidTag("keygen"));
+        Assertions.assertFalse(HTMLNames.isVoidTag("BR"));
+        Assertions.assertFalse(HTMLNames.isVoidTag("div"));
+        Assertions.assertFalse(HTMLNames.isVoidTag("unknown"));
+        Assertions.assertTrue(HTMLNames.isRawTextTag("script"));
+        Assertions.assertTrue(HTMLNames.isRawTextTag("style"));
+        Assertions.assertFalse(HTMLNames.isRawTextTag("textarea"));
+    }
+}
@@ -0,0 +1,93 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.ParseStatistics;
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class HTMLParserPoolTest {
+    private static final List<String> DOCUMENTS = List.of(
+            "<html><body><p class=\"a\">first ✓ 𝄞</p></body></html>",
+            "<div><script>if (a < b) {}",
+            "<ul><li>one</li><li>two<br></li></ul>",
+            "<p>unclosed</div>",
+            "<!-- comment --><style>p {}</style><a href='x'>link</a>"
+    );
+
+    @Test
+    @DisplayName("Reset parser parses as a new one")
+    void testReset() throws IOException {
+        final HTMLParser reused = new HTMLParser(InputStream.nullInputStream());
+        for (Charset charset : List.of(StandardCharsets.UTF_8, StandardCharsets.UTF_16LE, StandardCharsets.UTF_8)) {
+            for (String html : DOCUMENTS) {
+                final Object expected;
+                try (var parser = new HTMLParser(HTMLFixtures.stream(html, charset), charset)) {
+                    expected = parseOrError(parser);
+                }
+                reused.reset(HTMLFixtures.stream(html, charset), charset);
+                Assertions.assertEquals(expected, parseOrError(reused), html);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Pool is bounded and doesn't close streams")
+    void testPool() throws ParseException {
+        final HTMLParserPool pool = new HTMLParserPool(2);
+        final HTMLParser first = pool.acquire(HTMLFixtures.stream(DOCUMENTS.get(0)));
+        final HTMLParser second = pool.acquire(HTMLFixtures.stream(DOCUMENTS.get(2)));
+        final HTMLParser third = pool.acquire(HTMLFixtures.stream(DOCUMENTS.get(4)));
+        Assertions.assertNotSame(first, second);
+        first.parse();
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        Assertions.assertEquals(2, pool.size());
+
+        final boolean[] isClosed = {false};
+        final InputStream input = new ByteArrayInputStream("<p>pooled</p>".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                isClosed[0] = true;
+            }
+        };
+        final HTMLElement root = pool.parse(input);
+        Assertions.assertEquals("pooled", root.getChildren().get(0).getChildren().get(0).getValue());
+        Assertions.assertFalse(isClosed[0]);
+        Assertions.assertEquals(2, pool.size());
+    }
+
+    @Test
+    @DisplayName("Released parser doesn't keep settings of its borrower")
+    void testReleaseSettings() throws ParseException {
+        final HTMLParserPool pool = new HTMLParserPool(1);
+        final HTMLParser parser = pool.acquire(HTMLFixtures.stream(DOCUMENTS.get(0)));
+        final List<ParseStatistics> reported = new ArrayList<>();
+        parser.setMaxDepth(1);
+        parser.setListener(reported::add);
+        pool.release(parser);
+
+        final HTMLElement root = pool.parse(HTMLFixtures.stream("<div><p>x</p></div>"));
+        Assertions.assertEquals("x", root.selectFirst("p").getChildren().get(0).getValue());
+        Assertions.assertTrue(reported.isEmpty());
+        Assertions.assertEquals(1, pool.size());
+    }
+
+    private static Object parseOrError(HTMLParser parser) {
+        try {
+            return parser.parse();
+        } catch (ParseException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.holeyko.parser.impl;
 
+import com.holeyko.parser.HTMLEventHandler;
+import com.holeyko.parser.ParseListener;
+import com.holeyko.parser.ParseStatistics;
 import com.holeyko.parser.Parser;
 import com.holeyko.parser.exception.ParseException;
 import com.holeyko.parser.model.HTMLElement;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +17,12 @@ import org.opentest4j.AssertionFailedError;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 class HTMLParserTest {
     private record HTMLFileParsed(String path, HTMLElement result) {
@@ -176,6 +187,16 @@ class HTMLParserTest {
         testPreparedParsing(MEDIUM_HTML);
     }
 
+    @Test
+    @DisplayName("Memory-mapped HTML")
+    void testMappedHtml() throws IOException, ParseException {
+        for (HTMLFileParsed prepared : List.of(BLANK_HTML, NO_HTML_TAG_HTML, WITH_COMMENTS_HTML, SIMPLE_HTML, MEDIUM_HTML)) {
+            try (Parser<HTMLElement> parser = new HTMLParser(Path.of(prepared.path()))) {
+                Assertions.assertEquals(prepared.result(), parser.parse(), "File: %s".formatted(prepared.path()));
+            }
+        }
+    }
+
     @Test
     @DisplayName("Online HTML")
     void testOnlineHtml() throws IOException {
@@ -199,6 +220,162 @@ class HTMLParserTest {
         testIncorrectHtml(PATH_TO_RESOURCES + "/incorrect/no-close-comment.html");
     }
 
+    @Test
+    @DisplayName("Events of HTML")
+    void testEvents() throws IOException, ParseException {
+        final List<String> events = new ArrayList<>();
+        final HTMLEventHandler handler = new HTMLEventHandler() {
+            @Override
+            public void startElement(String tag, Map<String, String> attributes, boolean isSingle) {
+                events.add("start %s %s %s".formatted(tag, attributes, isSingle));
+            }
+
+            @Override
+            public void endElement(String tag) {
+                events.add("end " + tag);
+            }
+
+            @Override
+            public void text(String text) {
+                events.add("text " + text.trim());
+            }
+
+            @Override
+            public void comment(String comment) {
+                events.add("comment " + comment.trim());
+            }
+
+            @Override
+            public void doctype(String doctype) {
+                events.add("doctype " + doctype);
+            }
+        };
+
+        try (var parser = new HTMLParser(new FileInputStream(PATH_TO_RESOURCES + "/correct/with-comments.html"))) {
+            parser.parseTo(handler);
+        }
+        Assertions.assertEquals(List.of(
+                "doctype html",
+                "text ",
+                "start html {lang=en} false",
+                "text ",
+                "start head {} false",
+                "text ",
+                "start meta {charset=UTF-8} false",
+                "end meta",
+                "text ",
+                "end head",
+                "text ",
+                "start body {} false",
+                "text ",
+                "comment My comment",
+                "text Hello, world!!!",
+                "end body",
+                "text ",
+                "end html"
+        ), events);
+    }
+
+    @Test
+    @DisplayName("Events of incorrect HTML")
+    void testIncorrectEvents() throws IOException {
+        for (String path : List.of("/incorrect/no-close-tag.html", "/incorrect/no-close-comment.html")) {
+            try (var parser = new HTMLParser(new FileInputStream(PATH_TO_RESOURCES + path))) {
+                Assertions.assertThrows(ParseException.class, () -> parser.parseTo(new HTMLEventHandler() {
+                }), "File: %s".formatted(path));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deep nesting")
+    void testDeepNesting() throws IOException, ParseException {
+        final int depth = 100_000;
+        final String html = "<div>".repeat(depth) + "deepest" + "</div>".repeat(depth);
+        try (var parser = HTMLFixtures.parser(html)) {
+            HTMLElement element = parser.parse();
+            for (int i = 0; i < depth; ++i) {
+                element = element.getChildren().get(0);
+            }
+            Assertions.assertEquals("div", element.getTag());
+            Assertions.assertEquals("deepest", element.getChildren().get(0).getValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Nesting deeper than the limit")
+    void testMaxDepth() throws IOException {
+        final String html = "<div>".repeat(11) + "</div>".repeat(11);
+        try (var parser = HTMLFixtures.parser(html)) {
+            parser.setMaxDepth(10);
+            Assertions.assertThrows(ParseException.class, parser::parse);
+        }
+    }
+
+    @Test
+    @DisplayName("Statistics of parses")
+    void testListener() throws IOException, ParseException {
+        final String html = "<!-- c --><div id=\"a\" class=\"b\"><p>один</p><br><p><i>two</i></p></div>";
+        final List<ParseStatistics> parsed = new ArrayList<>();
+        final List<ParseStatistics> failed = new ArrayList<>();
+        final ParseListener listener = new ParseListener() {
+            @Override
+            public void parsed(ParseStatistics statistics) {
+                parsed.add(statistics);
+            }
+
+            @Override
+            public void failed(ParseStatistics statistics, ParseException error) {
+                failed.add(statistics);
+            }
+        };
+
+        try (var parser = HTMLFixtures.parser(html)) {
+            parser.setListener(listener);
+            parser.parse();
+        }
+        Assertions.assertEquals(1, parsed.size());
+        final ParseStatistics statistics = parsed.get(0);
+        Assertions.assertEquals(html.getBytes(StandardCharsets.UTF_8).length, statistics.bytes());
+        Assertions.assertEquals(html.length(), statistics.chars());
+        Assertions.assertEquals(5, statistics.elements());
+        Assertions.assertEquals(2, statistics.attributes());
+        Assertions.assertEquals(2, statistics.texts());
+        Assertions.assertEquals(1, statistics.comments());
+        Assertions.assertEquals(3, statistics.maxDepth());
+        Assertions.assertTrue(statistics.windowFills() > 0);
+
+        try (var parser = HTMLFixtures.parser("<p><b>text</p>")) {
+            parser.setListener(listener);
+            Assertions.assertThrows(ParseException.class, parser::parse);
+        }
+        Assertions.assertEquals(1, failed.size());
+        Assertions.assertEquals(2, failed.get(0).elements());
+    }
+
+    @Test
+    @DisplayName("JFR events of parses")
+    void testParseEvent() throws IOException, ParseException {
+        final Path recordingPath = Files.createTempFile("parse", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("com.holeyko.parser.Parse");
+            recording.start();
+            try (var parser = HTMLFixtures.parser("<p>a<br></p>")) {
+                parser.parse();
+            }
+            recording.stop();
+            recording.dump(recordingPath);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals(2, events.get(0).getLong("elements"));
+            Assertions.assertEquals(12, events.get(0).getLong("chars"));
+            Assertions.assertTrue(events.get(0).getBoolean("isSuccess"));
+        } finally {
+            Files.deleteIfExists(recordingPath);
+        }
+    }
+
     private void testPreparedParsing(HTMLFileParsed prepared) throws IOException {
         try (Parser<HTMLElement> parser = new HTMLParser(
                 new FileInputStream(prepared.path())
@@ -0,0 +1,86 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+class HTMLPushParserTest {
+    private static final String HTML = """
+            <!DOCTYPE html>
+            <html>
+              <head><meta charset="utf-8"><title>Push ✓</title><style>p > a { }</style></head>
+              <body>
+                <p>text <!-- comment --> more 𝄞 text<br></br><img src="x"/></p>
+                <script>if (a < b && c </ d) {}</script>
+                <ul><li class="item">один</li><li>two</li></ul>
+              </body>
+            </html>
+            """;
+
+    @Test
+    @DisplayName("Chunked input gives the events of the pull parser")
+    void testChunks() throws IOException, ParseException {
+        final byte[] bytes = HTML.getBytes(StandardCharsets.UTF_8);
+        final HTMLElement expected = parse(bytes);
+        for (int chunkSize : new int[]{1, 2, 3, 7, 64, bytes.length}) {
+            final HTMLTreeBuilder builder = new HTMLTreeBuilder();
+            final HTMLPushParser parser = new HTMLPushParser(builder);
+            for (int i = 0; i < bytes.length; i += chunkSize) {
+                parser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+            }
+            parser.finish();
+            Assertions.assertEquals(expected, builder.getRoot(), "Chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    @DisplayName("Errors are the ones of the pull parser")
+    void testErrors() throws IOException {
+        for (String html : List.of("<p>text</div>", "<div><p>", "</p>", "<p><!-- open", "<a href=>")) {
+            final byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+            final ParseException expected = Assertions.assertThrows(ParseException.class, () -> parse(bytes));
+            final ParseException actual = Assertions.assertThrows(ParseException.class, () -> {
+                final HTMLPushParser parser = new HTMLPushParser(new HTMLTreeBuilder());
+                for (byte b : bytes) {
+                    parser.feed(new byte[]{b}, 0, 1);
+                }
+                parser.finish();
+            });
+            Assertions.assertEquals(expected.getMessage(), actual.getMessage(), html);
+        }
+    }
+
+    @Test
+    @DisplayName("Subtrees are passed on as soon as they are fed")
+    void testExtracting() throws ParseException {
+        final List<HTMLElement> rows = new ArrayList<>();
+        final HTMLPushParser parser = HTMLPushParser.extracting("tr", rows::add);
+        parser.feed(bytes("<table><tr><td>1</td></tr><tr><td>"));
+        Assertions.assertEquals(1, rows.size());
+        parser.feed(bytes("2</td></tr>"));
+        Assertions.assertEquals(2, rows.size());
+        parser.feed(bytes("</table>"));
+        parser.finish();
+        Assertions.assertEquals("2", rows.get(1).getChildren().get(0).getChildren().get(0).getValue());
+        Assertions.assertThrows(IllegalStateException.class, () -> parser.feed(bytes("<p></p>")));
+    }
+
+    private static ByteBuffer bytes(String html) {
+        return ByteBuffer.wrap(html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HTMLElement parse(byte[] bytes) throws IOException, ParseException {
+        try (var parser = new HTMLParser(new ByteArrayInputStream(bytes))) {
+            return parser.parse();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class HTMLTokenizerTest {
+    private static final String HTML = """
+            <!DOCTYPE html>
+            <html lang="en">
+            <!-- comment -- with dashes -->
+            <body class='main' hidden data-x=value>
+                Text<br/>
+                <script>if (a < b && c </scrip) { x = "</div>"; }</script>
+                <style>p > a { }</STYLE >
+            </body>
+            </html>""";
+
+    @Test
+    @DisplayName("Tokens of a document")
+    void testTokens() throws ParseException {
+        final List<HTMLToken> tokens = tokenize(HTML, HTML.length());
+        final List<HTMLToken> withoutText = tokens.stream()
+                .filter(token -> token.type() != HTMLToken.Type.TEXT || !token.text().isBlank())
+                .toList();
+
+        Assertions.assertEquals(List.of(
+                HTMLToken.doctype("html"),
+                HTMLToken.startTag("html", Map.of("lang", "en"), false),
+                HTMLToken.comment(" comment -- with dashes "),
+                HTMLToken.startTag("body", attributes("class", "main", "hidden", null, "data-x", "value"), false),
+                HTMLToken.text("\n    Text"),
+                HTMLToken.startTag("br", Map.of(), true),
+                HTMLToken.startTag("script", Map.of(), false),
+                HTMLToken.text("if (a < b && c </scrip) { x = \"</div>\"; }"),
+                HTMLToken.endTag("script"),
+                HTMLToken.startTag("style", Map.of(), false),
+                HTMLToken.text("p > a { }"),
+                HTMLToken.endTag("style"),
+                HTMLToken.endTag("body"),
+                HTMLToken.endTag("html")
+        ), withoutText);
+    }
+
+    @Test
+    @DisplayName("Tokens don't depend on chunk boundaries")
+    void testChunkBoundaries() throws ParseException {
+        final List<HTMLToken> expected = tokenize(HTML, HTML.length());
+        for (int chunkSize = 1; chunkSize < 16; ++chunkSize) {
+            Assertions.assertEquals(expected, tokenize(HTML, chunkSize), "Chunk size: %d".formatted(chunkSize));
+        }
+    }
+
+    @Test
+    @DisplayName("Unclosed constructs")
+    void testUnclosed() {
+        for (String html : List.of("<!-- comment", "<div class=\"x", "<div", "</div")) {
+            Assertions.assertThrows(ParseException.class, () -> tokenize(html, html.length()), html);
+        }
+    }
+
+    @Test
+    @DisplayName("Lenient markup")
+    void testLenient() throws ParseException {
+        final Map<String, List<HTMLToken>> cases = Map.of(
+                "a < b", List.of(HTMLToken.text("a < b")),
+                "a<</p>", List.of(HTMLToken.text("a<"), HTMLToken.endTag("p")),
+                "</div >", List.of(HTMLToken.endTag("div")),
+                "<p x = \"1\">", List.of(HTMLToken.startTag("p", Map.of("x", "1"), false)),
+                "<p x=>", List.of(HTMLToken.startTag("p", Map.of("x", ""), false)),
+                "<br/ >", List.of(HTMLToken.startTag("br", Map.of(), false)),
+                "<p x=1 y=a\"b>", List.of(HTMLToken.startTag("p", Map.of("x", "1", "y", "a\"b"), false))
+        );
+        for (Map.Entry<String, List<HTMLToken>> entry : cases.entrySet()) {
+            Assertions.assertEquals(entry.getValue(), tokenize(entry.getKey(), entry.getKey().length()), entry.getKey());
+        }
+    }
+
+    private static List<HTMLToken> tokenize(String html, int chunkSize) throws ParseException {
+        final HTMLTokenizer tokenizer = new HTMLTokenizer();
+        final List<HTMLToken> tokens = new ArrayList<>();
+        final char[] chars = html.toCharArray();
+        for (int from = 0; from < chars.length; from += chunkSize) {
+            final int to = Math.min(chars.length, from + chunkSize);
+            int i = from;
+            while (i < to) {
+                i = tokenizer.tokenize(chars, i, to);
+                if (tokenizer.hasToken()) {
+                    tokens.add(tokenizer.takeToken());
+                }
+            }
+        }
+        tokenizer.finish();
+        if (tokenizer.hasToken()) {
+            tokens.add(tokenizer.takeToken());
+        }
+        return tokens;
+    }
+
+    private static Map<String, String> attributes(String... namesAndValues) {
+        final Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            result.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return result;
+    }
+}
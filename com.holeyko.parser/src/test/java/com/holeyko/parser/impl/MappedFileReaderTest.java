@@ -0,0 +1,59 @@
+package com.holeyko.parser.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class MappedFileReaderTest {
+    private static final String TEXT = "<p>Привет, мир! 😀 Hello, world!</p>\n".repeat(5);
+
+    @Test
+    @DisplayName("Characters split between mapping windows")
+    void testWindows() throws IOException {
+        final Path file = Files.createTempFile("mapped", ".html");
+        try {
+            for (Charset charset : List.of(StandardCharsets.UTF_8, StandardCharsets.UTF_16LE)) {
+                Files.writeString(file, TEXT, charset);
+                for (long windowSize : List.of(7L, 64L, Long.MAX_VALUE)) {
+                    for (int chunk : List.of(1, 2, 5, 4096)) {
+                        try (Reader reader = new MappedFileReader(new MappedFileInputStream(file, windowSize), charset)) {
+                            Assertions.assertEquals(TEXT, readAll(reader, chunk),
+                                    "Charset: %s, window: %d, chunk: %d".formatted(charset, windowSize, chunk));
+                        }
+                    }
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Empty file")
+    void testEmpty() throws IOException {
+        final Path file = Files.createTempFile("mapped", ".html");
+        try (Reader reader = new MappedFileReader(new MappedFileInputStream(file), StandardCharsets.UTF_8)) {
+            Assertions.assertEquals(-1, reader.read(new char[16], 0, 16));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static String readAll(Reader reader, int chunk) throws IOException {
+        final StringBuilder result = new StringBuilder();
+        final char[] buffer = new char[chunk];
+        int read;
+        while ((read = reader.read(buffer, 0, chunk)) != -1) {
+            result.append(buffer, 0, read);
+        }
+        return result.toString();
+    }
+}
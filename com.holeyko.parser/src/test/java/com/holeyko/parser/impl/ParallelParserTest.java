@@ -0,0 +1,83 @@
+package com.holeyko.parser.impl;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.model.HTMLElement;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+
+class ParallelParserTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Large documents are parsed as sequentially")
+    void testSameAsSequential() throws IOException, ParseException {
+        final StringBuilder table = new StringBuilder("<!DOCTYPE html><html><head><title>rows</title></head><body><table>");
+        for (int i = 0; i < 20_000; ++i) {
+            table.append("<tr class=\"row\"><td>").append(i).append("</td><td>text <!-- c --> of <br> row</td></tr>\n");
+            if (i % 1000 == 0) {
+                table.append("<script>if (a</tr>) {}</script><style>p</style>");
+            }
+        }
+        assertSame(table.append("</table></body></html>").toString());
+
+        final StringBuilder siblings = new StringBuilder();
+        for (int i = 0; i < 20_000; ++i) {
+            siblings.append("<p id=\"").append(i).append("\">paragraph <b>").append(i).append("</b></p> loose text ");
+        }
+        assertSame(siblings.toString());
+
+        final StringBuilder nested = new StringBuilder("<div>");
+        for (int i = 0; i < 5_000; ++i) {
+            nested.append("<div><ul><li>one</li><li>two</li></ul><div>deeper <i>text</i></div></div>");
+        }
+        assertSame(nested.append("</div><div>last</div>").toString());
+    }
+
+    @Test
+    @DisplayName("Malformed documents fail as sequentially")
+    void testMalformed() {
+        final StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < 20_000; ++i) {
+            html.append(i == 10_000 ? "<p>unclosed</div>" : "<p>paragraph of the body</p>");
+        }
+        html.append("</body></html>");
+
+        final ParseException sequential = Assertions.assertThrows(ParseException.class, () -> parse(html.toString(), false));
+        final ParseException parallel = Assertions.assertThrows(ParseException.class, () -> parse(html.toString(), true));
+        Assertions.assertEquals(sequential.getMessage(), parallel.getMessage());
+    }
+
+    @Test
+    @DisplayName("Small documents are parsed")
+    void testSmall() throws IOException, ParseException {
+        assertSame("<p>one</p><p>two</p>");
+        assertSame("<html><body><br></body></html>");
+        assertSame("");
+    }
+
+    private static void assertSame(String html) throws IOException, ParseException {
+        Assertions.assertEquals(parse(html, false), parse(html, true));
+    }
+
+    private static HTMLElement parse(String html, boolean isParallel) throws IOException, ParseException {
+        try (var parser = HTMLFixtures.parser(html)) {
+            return isParallel ? parser.parseParallel(pool) : parser.parse();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.holeyko.parser.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class StringMatcherTest {
+    @Test
+    @DisplayName("Index of the matched string")
+    void testMatch() {
+        final StringMatcher matcher = StringMatcher.of("</", "<", ">", "ü");
+
+        Assertions.assertEquals(StringMatcher.NO_MATCH, matcher.matchPrefix("a"));
+        Assertions.assertEquals(1, matcher.matchPrefix("<"));
+        Assertions.assertEquals(0, matcher.matchPrefix("</"));
+        Assertions.assertEquals(2, matcher.matchPrefix(">"));
+        Assertions.assertEquals(3, matcher.matchPrefix("ü"));
+        Assertions.assertEquals(StringMatcher.NO_MATCH, matcher.matchPrefix("Ü"));
+    }
+
+    @Test
+    @DisplayName("Case-insensitive matching")
+    void testIgnoreCase() {
+        final StringMatcher matcher = StringMatcher.ignoreCase("</Script", "</STYLE");
+
+        Assertions.assertEquals(0, matcher.matchPrefix("</sCrIpT"));
+        Assertions.assertEquals(1, matcher.matchPrefix("</style"));
+        Assertions.assertEquals(StringMatcher.NO_MATCH, StringMatcher.of("</Script").matchPrefix("</script"));
+    }
+
+    @Test
+    @DisplayName("Prefixes of accumulated input")
+    void testMatchPrefix() {
+        final StringMatcher matcher = StringMatcher.ignoreCase("--", "DOCTYPE");
+
+        Assertions.assertEquals(StringMatcher.PARTIAL_MATCH, matcher.matchPrefix(""));
+        Assertions.assertEquals(StringMatcher.PARTIAL_MATCH, matcher.matchPrefix("-"));
+        Assertions.assertEquals(0, matcher.matchPrefix("--"));
+        Assertions.assertEquals(StringMatcher.PARTIAL_MATCH, matcher.matchPrefix("doc"));
+        Assertions.assertEquals(1, matcher.matchPrefix("DocType"));
+        Assertions.assertEquals(StringMatcher.NO_MATCH, matcher.matchPrefix("DOCTYPES"));
+        Assertions.assertEquals(StringMatcher.NO_MATCH, matcher.matchPrefix("[CDATA["));
+    }
+}
@@ -0,0 +1,87 @@
+package com.holeyko.parser.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+class Utf8ReaderTest {
+    private static final String TEXT = "<p>ASCII, Привет, 世界, 😀😀 and �</p>\n".repeat(20);
+
+    @Test
+    @DisplayName("Valid UTF-8")
+    void testValid() throws IOException {
+        final byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (int chunk : List.of(1, 2, 3, 7, 8192)) {
+            Assertions.assertEquals(TEXT, readAll(new TrickleInputStream(bytes, 5), chunk), "Chunk: %d".formatted(chunk));
+        }
+    }
+
+    @Test
+    @DisplayName("Malformed UTF-8 is replaced as the JDK decoder does")
+    void testMalformed() throws IOException {
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; ++i) {
+            final byte[] bytes = new byte[random.nextInt(64)];
+            for (int j = 0; j < bytes.length; ++j) {
+                bytes[j] = (byte) (random.nextBoolean() ? 0x80 + random.nextInt(0x80) : random.nextInt(0x80));
+            }
+            final String expected = new String(bytes, StandardCharsets.UTF_8);
+            for (int chunk : List.of(1, 3, 64)) {
+                Assertions.assertEquals(expected, readAll(new TrickleInputStream(bytes, 1 + random.nextInt(4)), chunk));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Memory-mapped UTF-8")
+    void testMapped() throws IOException {
+        final Path file = Files.createTempFile("utf8", ".html");
+        try {
+            Files.writeString(file, TEXT);
+            Assertions.assertEquals(TEXT, readAll(new MappedFileInputStream(file, 64), 4096));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static String readAll(InputStream input, int chunk) throws IOException {
+        try (Reader reader = new Utf8Reader(input)) {
+            final StringBuilder result = new StringBuilder();
+            final char[] buffer = new char[chunk];
+            int read;
+            while ((read = reader.read(buffer, 0, chunk)) != -1) {
+                result.append(buffer, 0, read);
+            }
+            return result.toString();
+        }
+    }
+
+    private static class TrickleInputStream extends ByteArrayInputStream {
+        private final int step;
+
+        TrickleInputStream(byte[] bytes, int step) {
+            super(bytes);
+            this.step = step;
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) {
+            return super.read(bytes, offset, Math.min(step, length));
+        }
+
+        @Override
+        public synchronized int available() {
+            return 0;
+        }
+    }
+}
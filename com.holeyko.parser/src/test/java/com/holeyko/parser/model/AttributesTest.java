@@ -0,0 +1,72 @@
+package com.holeyko.parser.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class AttributesTest {
+    @Test
+    @DisplayName("Behaves as HashMap below and above the flat size")
+    void testAsHashMap() {
+        final Random random = new Random(42);
+        for (int size : List.of(0, 1, 3, 8, 9, 20)) {
+            final Attributes attributes = new Attributes();
+            final Map<String, String> expected = new HashMap<>();
+            for (int i = 0; i < 200; ++i) {
+                final String name = "a" + random.nextInt(size + 1);
+                final String value = random.nextBoolean() ? null : "v" + i;
+                switch (random.nextInt(4)) {
+                    case 0 -> Assertions.assertEquals(expected.remove(name), attributes.remove(name));
+                    default -> Assertions.assertEquals(expected.put(name, value), attributes.put(name, value));
+                }
+                Assertions.assertEquals(expected.get(name), attributes.get(name));
+                Assertions.assertEquals(expected.containsKey(name), attributes.containsKey(name));
+                Assertions.assertEquals(expected, attributes);
+                Assertions.assertEquals(expected.hashCode(), attributes.hashCode());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Iteration in insertion order")
+    void testIteration() {
+        final Attributes attributes = new Attributes();
+        attributes.put("id", "x");
+        attributes.put("class", null);
+        attributes.put("href", "/");
+        Assertions.assertEquals("{id=x, class=null, href=/}", attributes.toString());
+
+        final Iterator<Map.Entry<String, String>> iterator = attributes.entrySet().iterator();
+        iterator.next().setValue("y");
+        iterator.next();
+        iterator.remove();
+        Assertions.assertEquals(Map.of("id", "y", "href", "/"), attributes);
+    }
+
+    @Test
+    @DisplayName("Shared empty attributes")
+    void testEmpty() {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> Attributes.empty().put("id", "x"));
+
+        final HTMLElement element = new HTMLElement();
+        Assertions.assertNull(element.getAttribute("id"));
+        Assertions.assertFalse(element.containsAttribute("id"));
+        element.addAttribute("id", "x");
+        element.addAttributeWithoutArgs("hidden");
+        Assertions.assertEquals("x", element.getAttribute("id"));
+        Assertions.assertTrue(element.containsAttribute("hidden"));
+        Assertions.assertTrue(Attributes.empty().isEmpty());
+
+        final HTMLElement other = new HTMLElement();
+        other.getAttributes().put("id", "x");
+        other.getAttributes().put("hidden", null);
+        Assertions.assertEquals(element, other);
+        Assertions.assertEquals(new HTMLElement(), new HTMLElement());
+    }
+}
@@ -0,0 +1,90 @@
+package com.holeyko.parser.model;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLFixtures;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+class HTMLIndexTest {
+    private static final String HTML = """
+            <html>
+              <body class="page">
+                <div id="main" class="card  wide card">
+                  <p id="text" class="wide">first</p>
+                  <p id="main">duplicate id</p>
+                </div>
+                <DIV class="card"><br></DIV>
+              </body>
+            </html>
+            """;
+
+    @Test
+    @DisplayName("Lookups of a parsed document")
+    void testParsed() throws IOException, ParseException {
+        final HTMLIndex index = parseIndexed(HTML);
+        final HTMLElement main = index.getElementById("main");
+        Assertions.assertEquals("div", main.getTag());
+        Assertions.assertEquals("p", index.getElementById("text").getTag());
+        Assertions.assertNull(index.getElementById("none"));
+
+        Assertions.assertEquals(List.of(main, index.getElementsByTagName("div").get(1)), index.getElementsByClassName("card"));
+        Assertions.assertEquals(List.of(main, index.getElementById("text")), index.getElementsByClassName("wide"));
+        Assertions.assertEquals(List.of(), index.getElementsByClassName("none"));
+
+        Assertions.assertEquals(List.of(index.getRoot()), index.getElementsByTagName("HTML"));
+        Assertions.assertEquals(2, index.getElementsByTagName("p").size());
+        Assertions.assertEquals(1, index.getElementsByTagName("br").size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> index.getElementsByTagName("p").clear());
+    }
+
+    @Test
+    @DisplayName("Root wrapped around the document isn't indexed")
+    void testWrapper() throws IOException, ParseException {
+        final HTMLIndex index = parseIndexed("<p>one</p><p>two</p>");
+        Assertions.assertEquals(List.of(), index.getElementsByTagName("html"));
+        Assertions.assertEquals(index.getRoot().getChildren(), index.getElementsByTagName("p"));
+
+        final HTMLIndex withHtml = parseIndexed("<html><p>one</p></html><p>two</p>");
+        Assertions.assertEquals(List.of(withHtml.getRoot().getChildren().get(0)), withHtml.getElementsByTagName("html"));
+    }
+
+    @Test
+    @DisplayName("Built index doesn't change with its builder")
+    void testBuilder() {
+        final HTMLElement first = HTMLElement.builder().tag("p").addAttribute("class", "a").build();
+        final HTMLElement second = HTMLElement.builder().tag("p").addAttribute("class", "a").build();
+        final HTMLIndex.HTMLIndexBuilder builder = HTMLIndex.builder();
+        builder.add(first);
+        final HTMLIndex index = builder.build(first);
+        builder.add(second);
+        final HTMLIndex next = builder.build(second);
+
+        Assertions.assertEquals(List.of(first), index.getElementsByTagName("p"));
+        Assertions.assertEquals(List.of(first), index.getElementsByClassName("a"));
+        Assertions.assertEquals(List.of(first, second), next.getElementsByTagName("p"));
+    }
+
+    @Test
+    @DisplayName("Parse-time indexes match indexes of the tree")
+    void testOf() throws IOException, ParseException {
+        final HTMLIndex parsed = parseIndexed(HTML);
+        final HTMLIndex walked = HTMLIndex.of(parsed.getRoot());
+        for (String tag : List.of("html", "body", "div", "p", "br")) {
+            Assertions.assertEquals(parsed.getElementsByTagName(tag), walked.getElementsByTagName(tag), tag);
+        }
+        for (String name : List.of("page", "card", "wide")) {
+            Assertions.assertEquals(parsed.getElementsByClassName(name), walked.getElementsByClassName(name), name);
+        }
+        Assertions.assertSame(parsed.getElementById("main"), walked.getElementById("main"));
+    }
+
+    private static HTMLIndex parseIndexed(String html) throws IOException, ParseException {
+        try (var parser = HTMLFixtures.parser(html)) {
+            return parser.parseIndexed();
+        }
+    }
+}
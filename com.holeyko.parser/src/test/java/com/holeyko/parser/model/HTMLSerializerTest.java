@@ -0,0 +1,87 @@
+package com.holeyko.parser.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+class HTMLSerializerTest {
+    private static final HTMLElement TREE = HTMLElement.builder()
+            .tag("html")
+            .addChild(HTMLElement.builder()
+                    .tag("body")
+                    .addAttribute("class", "main")
+                    .addChild(HTMLElement.builder().value("first\nsecond").build())
+                    .addChild(HTMLElement.builder().tag("br").isVoid(true).build())
+                    .addChild(HTMLElement.builder().tag("input").isSingle(true).isVoid(true).addAttribute("hidden", null).build())
+                    .addChild(HTMLElement.builder().tag("div").build())
+                    .build())
+            .build();
+
+    @Test
+    @DisplayName("Pretty HTML")
+    void testHtml() {
+        Assertions.assertEquals("""
+                <html>\t
+                \t<body class="main">\t
+                \t\tfirst
+                \t\tsecond
+                \t\t<br>
+                \t\t<input hidden="null"/>
+                \t\t<div>
+                \t\t</div>
+                \t</body>
+                </html>""", TREE.toHTML());
+    }
+
+    @Test
+    @DisplayName("Tree")
+    void testTree() {
+        Assertions.assertEquals("""
+                tag: html | isSingle: false | isVoid: false | attributes: {}\t
+                \ttag: body | isSingle: false | isVoid: false | attributes: {class=main}\t
+                \t\tfirst
+                \t\tsecond
+                \t\ttag: br | isSingle: false | isVoid: true | attributes: {}
+                \t\ttag: input | isSingle: true | isVoid: true | attributes: {hidden=null}
+                \t\ttag: div | isSingle: false | isVoid: false | attributes: {}""", TREE.toString());
+    }
+
+    @Test
+    @DisplayName("Compact HTML to a stream")
+    void testCompact() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new HTMLSerializer(HTMLSerializer.Format.COMPACT_HTML).serialize(TREE, output, StandardCharsets.UTF_8);
+        Assertions.assertEquals(
+                "<html><body class=\"main\">first\nsecond<br><input hidden/><div></div></body></html>",
+                output.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    @DisplayName("Quotes in attribute values are escaped")
+    void testQuotes() {
+        final HTMLElement element = HTMLElement.builder().tag("p").addAttribute("title", "a\"b\"").build();
+        Assertions.assertEquals("<p title=\"a&quot;b&quot;\">\n</p>", element.toHTML());
+        Assertions.assertEquals("<p title=\"a&quot;b&quot;\"></p>",
+                new HTMLSerializer(HTMLSerializer.Format.COMPACT_HTML).serialize(element));
+    }
+
+    @Test
+    @DisplayName("Deep tree")
+    void testDeep() {
+        final HTMLElement root = HTMLElement.builder().tag("html").build();
+        HTMLElement element = root;
+        for (int i = 0; i < 100_000; ++i) {
+            final HTMLElement child = HTMLElement.builder().tag("b").build();
+            element.addChild(child);
+            element = child;
+        }
+
+        final String html = new HTMLSerializer(HTMLSerializer.Format.COMPACT_HTML).serialize(root);
+        Assertions.assertEquals(13 + 100_000 * 7, html.length());
+    }
+}
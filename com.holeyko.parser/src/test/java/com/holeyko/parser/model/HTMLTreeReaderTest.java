@@ -0,0 +1,101 @@
+package com.holeyko.parser.model;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLFixtures;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+class HTMLTreeReaderTest {
+    private static final String HTML = """
+            <!DOCTYPE html>
+            <html lang="ru">
+              <head><meta charset="utf-8"><title>Привет</title></head>
+              <body class="main" hidden>
+                <p id="first">text &amp; more <b>bold</b></p>
+                <input type="text" disabled/>
+                <div><span>deep</span></div>
+              </body>
+            </html>
+            """;
+
+    @Test
+    @DisplayName("Round trip through bytes")
+    void testBytes() throws IOException, ParseException {
+        final HTMLElement root = HTMLFixtures.parse(HTML);
+        final HTMLElement loaded = HTMLTreeReader.read(HTMLTreeWriter.toBytes(root));
+        Assertions.assertEquals(root, loaded);
+        Assertions.assertEquals(root.toString(), loaded.toString());
+        Assertions.assertEquals(root.toHTML(), loaded.toHTML());
+    }
+
+    @Test
+    @DisplayName("Round trip through a mapped file")
+    void testFile(@TempDir Path dir) throws IOException, ParseException {
+        final HTMLElement root = HTMLFixtures.parse(HTML);
+        final Path file = dir.resolve("tree.bin");
+        HTMLTreeWriter.write(root, file);
+        Assertions.assertEquals(root.toHTML(), HTMLTreeReader.read(file).toHTML());
+    }
+
+    @Test
+    @DisplayName("Null tag, text root and valueless attributes")
+    void testEdgeCases() throws IOException {
+        final HTMLElement text = HTMLElement.builder().value("only text").build();
+        Assertions.assertEquals(text, HTMLTreeReader.read(HTMLTreeWriter.toBytes(text)));
+
+        final HTMLElement element = new HTMLElement();
+        element.addAttributeWithoutArgs("hidden");
+        element.addAttribute("empty", "");
+        Assertions.assertEquals(element, HTMLTreeReader.read(HTMLTreeWriter.toBytes(element)));
+    }
+
+    @Test
+    @DisplayName("Unvisited subtrees aren't decoded")
+    void testLazy() throws IOException {
+        final HTMLElement root = HTMLElement.builder()
+                .tag("html")
+                .addChild(HTMLElement.builder().tag("head").addChild(HTMLElement.builder().value("x").build()).build())
+                .addChild(HTMLElement.builder().tag("body").addChild(HTMLElement.builder().value("y").build()).build())
+                .build();
+        final byte[] bytes = HTMLTreeWriter.toBytes(root);
+        final HTMLElement loaded = HTMLTreeReader.read(bytes);
+        Assertions.assertEquals(2, loaded.getChildren().size());
+
+        // The text inside body ends the file with its kind, length and a char, damage the kind
+        bytes[bytes.length - 3] = 0x7E;
+        final HTMLElement damaged = HTMLTreeReader.read(bytes);
+        final HTMLElement head = damaged.getChildren().get(0);
+        Assertions.assertEquals("x", head.getChildren().get(0).getValue());
+        Assertions.assertThrows(UncheckedIOException.class, () -> damaged.getChildren().get(1).getChildren().get(0));
+    }
+
+    @Test
+    @DisplayName("Unknown format and version")
+    void testHeader() {
+        final byte[] bytes = HTMLTreeWriter.toBytes(HTMLElement.builder().tag("p").build());
+        final byte[] version = bytes.clone();
+        version[5] = 2;
+        Assertions.assertThrows(IOException.class, () -> HTMLTreeReader.read(version));
+        Assertions.assertThrows(IOException.class, () -> HTMLTreeReader.read("<html>".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(IOException.class, () -> HTMLTreeReader.read(Arrays.copyOf(bytes, bytes.length - 2)));
+    }
+
+    @Test
+    @DisplayName("Deep tree")
+    void testDeep() throws IOException, ParseException {
+        final HTMLElement root = HTMLFixtures.parse("<div>".repeat(10000) + "end" + "</div>".repeat(10000));
+        HTMLElement element = HTMLTreeReader.read(HTMLTreeWriter.toBytes(root));
+        for (int i = 0; i < 10000; ++i) {
+            element = element.getChildren().get(0);
+        }
+        Assertions.assertEquals("end", element.getChildren().get(0).getValue());
+    }
+}
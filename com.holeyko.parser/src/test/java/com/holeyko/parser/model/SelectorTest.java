@@ -0,0 +1,100 @@
+package com.holeyko.parser.model;
+
+import com.holeyko.parser.exception.ParseException;
+import com.holeyko.parser.impl.HTMLFixtures;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+class SelectorTest {
+    private static final String HTML = """
+            <html>
+              <body>
+                <div id="main" class="content wide">
+                  <p class="lead">first</p>
+                  text
+                  <p>second <a href="/one" rel="nofollow">one</a></p>
+                  <ul>
+                    <li>1</li><li class="odd-one">2</li><li>3</li><li>4</li><li>5</li>
+                  </ul>
+                </div>
+                <div class="content-footer"><a href="/two">two</a></div>
+              </body>
+            </html>
+            """;
+
+    private static HTMLElement root;
+
+    @BeforeAll
+    static void parse() throws IOException, ParseException {
+        try (var parser = HTMLFixtures.parser(HTML)) {
+            root = parser.parse();
+        }
+    }
+
+    @Test
+    @DisplayName("Tag, id, class and attributes")
+    void testSimple() {
+        Assertions.assertEquals(List.of("first", "second"), texts(root.select("p")));
+        Assertions.assertEquals(5, root.select("LI").size());
+        Assertions.assertEquals("main", root.selectFirst("#main").getAttribute("id"));
+        Assertions.assertEquals(List.of("main"), ids(root.select(".content")));
+        Assertions.assertEquals(List.of("main"), ids(root.select("div.wide.content")));
+        Assertions.assertTrue(root.select(".wide.lead").isEmpty());
+        Assertions.assertEquals(List.of("one", "two"), texts(root.select("a[href]")));
+        Assertions.assertEquals(List.of("two"), texts(root.select("a[href='/two']")));
+        Assertions.assertEquals(List.of("one"), texts(root.select("[rel=nofollow]")));
+        Assertions.assertEquals(root, root.selectFirst("*"));
+    }
+
+    @Test
+    @DisplayName("Combinators and lists")
+    void testCombinators() {
+        Assertions.assertEquals(List.of("one"), texts(root.select("#main a")));
+        Assertions.assertEquals(List.of("one"), texts(root.select("body div p > a")));
+        Assertions.assertTrue(root.select("div > a[href='/one']").isEmpty());
+        Assertions.assertEquals(List.of("two"), texts(root.select("body > div > a")));
+        Assertions.assertEquals(List.of("first", "one", "two"), texts(root.select("a, p.lead")));
+        Assertions.assertNull(root.selectFirst("ul > p"));
+    }
+
+    @Test
+    @DisplayName(":nth-child counts elements only")
+    void testNthChild() {
+        Assertions.assertEquals(List.of("2"), texts(root.select("ul li:nth-child(2)")));
+        Assertions.assertEquals(List.of("1", "3", "5"), texts(root.select("li:nth-child(odd)")));
+        Assertions.assertEquals(List.of("2", "4"), texts(root.select("li:nth-child(2n)")));
+        Assertions.assertEquals(List.of("1", "2", "3"), texts(root.select("li:nth-child(-n+3)")));
+        Assertions.assertEquals(List.of("4", "5"), texts(root.select("li:nth-child(n + 4)")));
+        Assertions.assertEquals(List.of("3"), texts(root.select("ul > :nth-child(3)")));
+        Assertions.assertEquals(List.of("first", "1"), texts(root.select("p:first-child, li:first-child")));
+    }
+
+    @Test
+    @DisplayName("Invalid selectors")
+    void testInvalid() {
+        for (String query : List.of("", "div >", "p,", "[href", "a[=x]", "div..x", "li:hover", "li:nth-child(x)", "a!b")) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> Selector.compile(query), query);
+        }
+    }
+
+    @Test
+    @DisplayName("Compiled selectors are cached")
+    void testCache() {
+        final Selector selector = Selector.compile("div > p");
+        Assertions.assertSame(selector, Selector.compile("div > p"));
+        Assertions.assertEquals(root.select("div > p"), selector.select(root));
+    }
+
+    private static List<String> texts(List<HTMLElement> elements) {
+        return elements.stream().map(element -> element.getChildren().get(0).getValue()).toList();
+    }
+
+    private static List<String> ids(List<HTMLElement> elements) {
+        return elements.stream().map(element -> element.getAttribute("id")).toList();
+    }
+}